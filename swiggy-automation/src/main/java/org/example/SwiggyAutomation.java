@@ -1,6 +1,5 @@
 package org.example;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -9,6 +8,7 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.Keys;
 import java.util.List;
+import java.util.Properties;
 import java.util.Arrays;
 import java.time.Duration;
 
@@ -17,8 +17,9 @@ public class SwiggyAutomation {
     public static void main(String[] args) {
 
         // 1. Setup WebDriver
-        WebDriverManager.chromedriver().setup();
+        DriverBinaryCache.resolveChromeDriver(new Properties());
         WebDriver driver = new ChromeDriver();
+        DriverBinaryCache.logReady();
         driver.manage().window().maximize();
         WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(30));
 
@@ -0,0 +1,56 @@
+package org.example;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * Headless Chrome and static fixture pages for the benchmarks. Fixtures are copied out of the jar
+ * into a temp directory once and loaded through file:// URLs, so no network or server is involved.
+ */
+public class BenchBrowser {
+
+    private static Path fixtureDir;
+
+    /** Headless Chrome with the throughput profile and no implicit wait, so lookups measure only themselves. */
+    public static WebDriver launch() {
+        Properties config = new Properties();
+        DriverBinaryCache.resolveChromeDriver(config);
+        ChromeOptions options = new ChromeOptions();
+        BrowserProfile.named(BrowserProfile.THROUGHPUT, config).applyTo(options);
+        WebDriver driver = new ChromeDriver(options);
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        return driver;
+    }
+
+    /** Loads {@code fixtures/<name>} from the classpath into {@code driver}. */
+    public static void open(WebDriver driver, String name) throws IOException {
+        driver.get(fixture(name).toUri().toString());
+    }
+
+    private static synchronized Path fixture(String name) throws IOException {
+        if (fixtureDir == null) {
+            fixtureDir = Files.createTempDirectory("swiggy-bench");
+            fixtureDir.toFile().deleteOnExit();
+        }
+        Path file = fixtureDir.resolve(name);
+        if (!Files.exists(file)) {
+            try (InputStream in = BenchBrowser.class.getClassLoader().getResourceAsStream("fixtures/" + name)) {
+                if (in == null) {
+                    throw new IOException("No fixture " + name);
+                }
+                Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            file.toFile().deleteOnExit();
+        }
+        return file;
+    }
+}
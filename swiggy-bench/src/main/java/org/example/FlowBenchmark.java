@@ -0,0 +1,238 @@
+package org.example;
+
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Runs the full SwiggyAutomationFixed order flow repeatedly against the local mock site, once per wait
+ * strategy, and writes p50/p95/p99 wall time per run and per step as a markdown report. The report has no
+ * timestamps or host details, so it can be checked in as a baseline and diffed after every change.
+ * <pre>
+ * java -cp target/benchmarks.jar org.example.FlowBenchmark [--runs 10] [--warmup 1]
+ *     [--strategies fixed,implicit,explicit,event] [--scenario ../swiggy/scenarios/slow-network.properties]
+ *     [--out flow-benchmark.md] [--baseline baseline/flow-benchmark.md]
+ * </pre>
+ */
+public class FlowBenchmark {
+
+    private static final double[] PERCENTILES = { 50, 95, 99 };
+
+    // Wall times of the measured runs of one strategy
+    private static class Result {
+        final WaitStrategy strategy;
+        final List<Long> runMs = new ArrayList<>();
+        final Map<String, List<Long>> stepMs = new LinkedHashMap<>();
+        int succeeded;
+
+        Result(WaitStrategy strategy) {
+            this.strategy = strategy;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int runs = Integer.parseInt(options.getOrDefault("runs", "10"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "1"));
+        String scenarioFile = options.get("scenario");
+        Path out = Paths.get(options.getOrDefault("out", "flow-benchmark.md"));
+
+        List<WaitStrategy> strategies = new ArrayList<>();
+        for (String name : options.getOrDefault("strategies", "fixed,implicit,explicit,event").split(",")) {
+            strategies.add(WaitStrategy.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+        }
+
+        MockSwiggySite site = MockSwiggySite.start(0);
+        FaultProxy proxy = null;
+        List<Result> results = new ArrayList<>();
+        try {
+            String baseUrl = site.getBaseUrl();
+            if (scenarioFile != null) {
+                proxy = FaultProxy.start(FaultScenario.load(scenarioFile), baseUrl, 0);
+                baseUrl = proxy.getBaseUrl();
+            }
+            // Only failure frames are kept, so screenshot I/O does not dominate the comparison
+            ScreenshotWriter.configure(16, null);
+            for (WaitStrategy strategy : strategies) {
+                results.add(measure(strategy, baseUrl, warmup, runs));
+            }
+        } finally {
+            if (proxy != null) {
+                proxy.stop();
+            }
+            site.stop();
+            ScreenshotWriter.shared().flush(30000);
+        }
+
+        String report = render(results, runs, warmup, scenarioFile);
+        Files.write(out, report.getBytes(StandardCharsets.UTF_8));
+        System.out.println("\n" + report);
+        System.out.println("Report written to " + out.toAbsolutePath());
+        if (options.containsKey("baseline")) {
+            compare(Paths.get(options.get("baseline")), results);
+        }
+    }
+
+    private static Result measure(WaitStrategy strategy, String baseUrl, int warmup, int runs) throws Exception {
+        System.out.println("\n📏 Measuring wait strategy " + strategy + " (" + warmup + " warm-up + " + runs + " runs)...");
+        Properties config = new Properties();
+        config.setProperty("site.base.url", baseUrl);
+        config.setProperty("wait.strategy", strategy.name());
+        config.setProperty("screenshot.mode", "failure");
+        config.setProperty("report.dir", "target/flow-bench/reports");
+        config.setProperty("test.location", "Whitefield Bangalore");
+
+        // Fresh selector history per strategy, so earlier strategies do not train the later ones
+        SelectorStats selectorStats = SelectorStats.load("target/flow-bench/no-stats-" + strategy + ".properties");
+        Result result = new Result(strategy);
+        DriverPool pool = new DriverPool(1, BenchBrowser::launch);
+        try {
+            for (int i = 0; i < warmup + runs; i++) {
+                WebDriver driver = pool.lease(Duration.ofSeconds(60));
+                try {
+                    FlowContext ctx = new FlowContext(driver, config, selectorStats, null);
+                    long start = System.currentTimeMillis();
+                    boolean ok = new SwiggyAutomationFixed(ctx).runFlow();
+                    long wall = System.currentTimeMillis() - start;
+                    if (i < warmup) {
+                        continue;
+                    }
+                    result.runMs.add(wall);
+                    // Checked here as well, before the browser is reset: a run only counts when it is on the payment page
+                    if (ok && PageStateClassifier.classify(driver).is(PageStateClassifier.State.PAYMENT)) {
+                        result.succeeded++;
+                    }
+                    for (RunReport.StepRecord step : ctx.getReport().getSteps()) {
+                        if (!"setup".equals(step.getName())) {
+                            result.stepMs.computeIfAbsent(step.getName(), k -> new ArrayList<>()).add(step.getElapsedMs());
+                        }
+                    }
+                } finally {
+                    pool.release(driver);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return result;
+    }
+
+    /** Nearest-rank percentile of {@code values}. */
+    static long percentile(List<Long> values, double p) {
+        if (values.isEmpty()) {
+            return 0;
+        }
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int rank = (int) Math.ceil(p / 100 * sorted.size());
+        return sorted.get(Math.max(0, rank - 1));
+    }
+
+    private static String render(List<Result> results, int runs, int warmup, String scenarioFile) {
+        StringBuilder md = new StringBuilder();
+        md.append("# Flow benchmark\n\n");
+        md.append("SwiggyAutomationFixed order flow against the local mock site, headless Chrome (throughput profile).\n");
+        md.append(runs).append(" measured runs per wait strategy after ").append(warmup).append(" warm-up run(s). ");
+        md.append("Fault scenario: ").append(scenarioFile != null ? Paths.get(scenarioFile).getFileName() : "none").append(".\n\n");
+
+        md.append("## Run wall time (ms)\n\n");
+        md.append("| Strategy | Succeeded | p50 | p95 | p99 |\n");
+        md.append("|---|---|---|---|---|\n");
+        for (Result r : results) {
+            md.append("| ").append(r.strategy.name().toLowerCase(Locale.ROOT))
+              .append(" | ").append(r.succeeded).append('/').append(r.runMs.size());
+            for (double p : PERCENTILES) {
+                md.append(" | ").append(percentile(r.runMs, p));
+            }
+            md.append(" |\n");
+        }
+
+        md.append("\n## Step wall time p50 / p95 / p99 (ms)\n\n");
+        md.append("| Step |");
+        for (Result r : results) {
+            md.append(' ').append(r.strategy.name().toLowerCase(Locale.ROOT)).append(" |");
+        }
+        md.append("\n|---|");
+        for (int i = 0; i < results.size(); i++) {
+            md.append("---|");
+        }
+        md.append('\n');
+        List<String> steps = new ArrayList<>();
+        for (Result r : results) {
+            for (String step : r.stepMs.keySet()) {
+                if (!steps.contains(step)) {
+                    steps.add(step);
+                }
+            }
+        }
+        for (String step : steps) {
+            md.append("| ").append(step).append(" |");
+            for (Result r : results) {
+                List<Long> values = r.stepMs.getOrDefault(step, Collections.emptyList());
+                md.append(' ').append(percentile(values, 50)).append(" / ").append(percentile(values, 95))
+                  .append(" / ").append(percentile(values, 99)).append(" |");
+            }
+            md.append('\n');
+        }
+        return md.toString();
+    }
+
+    // Reads the run table of an earlier report and prints the p50/p95 change per strategy
+    private static void compare(Path baseline, List<Result> results) throws IOException {
+        if (!Files.exists(baseline)) {
+            System.out.println("   ⚠️ No baseline at " + baseline + "; commit this report as the first one");
+            return;
+        }
+        Map<String, long[]> previous = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(baseline, StandardCharsets.UTF_8)) {
+            if (line.startsWith("## Step")) {
+                break;
+            }
+            String[] cells = line.split("\\|");
+            if (cells.length == 6 && cells[2].contains("/")) {
+                previous.put(cells[1].trim(), new long[] {
+                    Long.parseLong(cells[3].trim()), Long.parseLong(cells[4].trim()) });
+            }
+        }
+        System.out.println("\n=== CHANGE AGAINST BASELINE " + baseline + " ===");
+        System.out.println(String.format("%-10s %10s %10s %9s %10s %10s %9s", "Strategy", "p50 was", "p50 now", "Δ", "p95 was", "p95 now", "Δ"));
+        for (Result r : results) {
+            long[] was = previous.get(r.strategy.name().toLowerCase(Locale.ROOT));
+            if (was == null) {
+                continue;
+            }
+            long p50 = percentile(r.runMs, 50);
+            long p95 = percentile(r.runMs, 95);
+            System.out.println(String.format("%-10s %10d %10d %8.1f%% %10d %10d %8.1f%%",
+                r.strategy.name().toLowerCase(Locale.ROOT), was[0], p50, change(was[0], p50), was[1], p95, change(was[1], p95)));
+        }
+        System.out.println("===================");
+    }
+
+    private static double change(long was, long now) {
+        return was == 0 ? 0 : 100.0 * (now - was) / was;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --option value pairs, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+}
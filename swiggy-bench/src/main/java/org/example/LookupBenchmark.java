@@ -0,0 +1,140 @@
+package org.example;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one element lookup per idiom used in the automation code, against static copies of the
+ * listing and menu pages in headless Chrome:
+ * <ul>
+ *   <li>sequentialXPath: one findElement per fallback XPath until one is displayed (the original
+ *       findElementWithMultipleSelectors)</li>
+ *   <li>translateXPath: a single case-insensitive translate() XPath (ensureFoodDeliveryMode)</li>
+ *   <li>cssSelector: a single CSS selector on attributes and classes</li>
+ *   <li>batchedScript: the same fallback list resolved in one executeScript round trip (SelectorCascade)</li>
+ * </ul>
+ * Fallback lists mirror the code: the obfuscated Swiggy class names miss before the working selector hits.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LookupBenchmark {
+
+    private static final String LOWER = "translate(., 'ABCDEFGHIJKLMNOPQRSTUVWXYZ','abcdefghijklmnopqrstuvwxyz')";
+
+    public enum Target {
+        RESTAURANT_CARD("listing.html",
+            new String[] {
+                "//div[contains(@class,'_1MIkP')]//a[contains(@href,'restaurants')]",
+                "//a[contains(@href,'restaurants/') and contains(@href,'-')]"
+            },
+            "//a[contains(translate(@href, 'ABCDEFGHIJKLMNOPQRSTUVWXYZ','abcdefghijklmnopqrstuvwxyz'),'restaurants/')]",
+            "a[href*='restaurants/']"),
+        ADD_BUTTON("menu.html",
+            new String[] {
+                "//div[contains(@class,'_1HEo8')]//button",
+                "//div[contains(@class,'_3IlBn')]//button",
+                "//div[contains(@class,'_1gURR')]//button",
+                "//button[contains(text(),'ADD')]"
+            },
+            "//button[contains(" + LOWER + ",'add')]",
+            "[data-testid='menu-item'] button"),
+        DELIVERY_TAB("listing.html",
+            new String[] {
+                "//div[contains(text(),'Delivery')]",
+                "//span[contains(text(),'Delivery')]",
+                "//a[contains(text(),'Delivery')]",
+                "//button[contains(text(),'Delivery')]"
+            },
+            "//*[contains(text(),'Food Delivery') or normalize-space(.)='Delivery' or contains(" + LOWER + ",'delivery')]"
+                + "/ancestor::*[self::a or self::button or self::div][1]",
+            ".mode-tabs button[data-mode='delivery']");
+
+        final String page;
+        final String[] fallbacks;
+        final String translateXPath;
+        final String css;
+
+        Target(String page, String[] fallbacks, String translateXPath, String css) {
+            this.page = page;
+            this.fallbacks = fallbacks;
+            this.translateXPath = translateXPath;
+            this.css = css;
+        }
+    }
+
+    @Param({"RESTAURANT_CARD", "ADD_BUTTON", "DELIVERY_TAB"})
+    public Target target;
+
+    private WebDriver driver;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        driver = BenchBrowser.launch();
+        BenchBrowser.open(driver, target.page);
+        // A strategy that silently finds nothing would look fast; fail the trial instead
+        if (sequentialXPath() == null || translateXPath() == null || cssSelector() == null || batchedScript() == null) {
+            throw new IllegalStateException("Fixture " + target.page + " no longer matches every strategy for " + target);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (driver != null) {
+            driver.quit();
+        }
+    }
+
+    @Benchmark
+    public WebElement sequentialXPath() {
+        for (String xpath : target.fallbacks) {
+            try {
+                WebElement element = driver.findElement(By.xpath(xpath));
+                if (element.isDisplayed()) {
+                    return element;
+                }
+            } catch (Exception e) {
+                // Next fallback
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public WebElement translateXPath() {
+        List<WebElement> found = driver.findElements(By.xpath(target.translateXPath));
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    @Benchmark
+    public WebElement cssSelector() {
+        List<WebElement> found = driver.findElements(By.cssSelector(target.css));
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    @Benchmark
+    public WebElement batchedScript() {
+        SelectorCascade.Match match = SelectorCascade.resolve(driver, target.fallbacks);
+        return match != null ? match.getElement() : null;
+    }
+}
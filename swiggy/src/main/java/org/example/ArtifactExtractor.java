@@ -0,0 +1,56 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Command line access to an {@link ArtifactStore}.
+ * <pre>
+ * ArtifactExtractor &lt;store-dir&gt; list [run]
+ * ArtifactExtractor &lt;store-dir&gt; extract &lt;run&gt; &lt;step&gt; [out-file]
+ * </pre>
+ * extract writes the newest artifact recorded for that run and step, e.g. a screenshot as PNG.
+ */
+public class ArtifactExtractor {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            usage();
+            return;
+        }
+        try (ArtifactStore.Reader reader = ArtifactStore.Reader.open(Paths.get(args[0]))) {
+            switch (args[1]) {
+                case "list":
+                    for (ArtifactStore.Entry e : reader.find(args.length > 2 ? args[2] : null, null)) {
+                        System.out.println(e);
+                    }
+                    break;
+                case "extract":
+                    if (args.length < 4) {
+                        usage();
+                        return;
+                    }
+                    List<ArtifactStore.Entry> matches = reader.find(args[2], args[3]);
+                    if (matches.isEmpty()) {
+                        System.err.println("No artifact for run " + args[2] + ", step " + args[3]);
+                        System.exit(1);
+                    }
+                    ArtifactStore.Entry entry = matches.get(matches.size() - 1);
+                    Path out = Paths.get(args.length > 4 ? args[4] : entry.getStep() + "." + entry.getType());
+                    Files.write(out, reader.read(entry));
+                    System.out.println("Extracted " + entry + " to " + out);
+                    break;
+                default:
+                    usage();
+            }
+        }
+    }
+
+    private static void usage() {
+        System.out.println("Usage: ArtifactExtractor <store-dir> list [run]");
+        System.out.println("       ArtifactExtractor <store-dir> extract <run> <step> [out-file]");
+    }
+}
@@ -0,0 +1,235 @@
+package org.example;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Append-only store for run artifacts (screenshots, DOM snapshots, logs). Records are appended to
+ * segmented pack files ({@code pack-00000.dat}, ...) and listed in {@code index.tsv}, one line per
+ * record keyed by run, step and timestamp. A pack record is a 4-byte magic, a 4-byte length and the
+ * payload; index offsets point at the payload.
+ */
+public class ArtifactStore implements Closeable {
+
+    static final int MAGIC = 0x53574741; // "SWGA"
+    static final String INDEX = "index.tsv";
+
+    /** One index line: where a single artifact lives in the pack files. */
+    public static class Entry {
+        private final String run;
+        private final String step;
+        private final long timestamp;
+        private final String type;
+        private final int segment;
+        private final long offset;
+        private final int length;
+
+        Entry(String run, String step, long timestamp, String type, int segment, long offset, int length) {
+            this.run = run;
+            this.step = step;
+            this.timestamp = timestamp;
+            this.type = type;
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        public String getRun() { return run; }
+        public String getStep() { return step; }
+        public long getTimestamp() { return timestamp; }
+        public String getType() { return type; }
+        public int getSegment() { return segment; }
+        public long getOffset() { return offset; }
+        public int getLength() { return length; }
+
+        String toIndexLine() {
+            return run + "\t" + step + "\t" + timestamp + "\t" + type + "\t" + segment + "\t" + offset + "\t" + length;
+        }
+
+        // Null for a malformed or truncated line, e.g. the last one after a crash
+        static Entry parse(String line) {
+            String[] f = line.split("\t");
+            if (f.length != 7) {
+                return null;
+            }
+            try {
+                return new Entry(f[0], f[1], Long.parseLong(f[2]), f[3],
+                    Integer.parseInt(f[4]), Long.parseLong(f[5]), Integer.parseInt(f[6]));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return run + " / " + step + " @" + timestamp + " (" + type + ", " + length + " bytes)";
+        }
+    }
+
+    private final Path dir;
+    private final long segmentMaxBytes;
+    private final BufferedWriter index;
+    private FileChannel pack;
+    private int segment;
+
+    private ArtifactStore(Path dir, long segmentMaxBytes) throws IOException {
+        this.dir = dir;
+        // Readers map whole segments and address them with int offsets
+        this.segmentMaxBytes = Math.min(segmentMaxBytes, Integer.MAX_VALUE);
+        Files.createDirectories(dir);
+        this.segment = Math.max(0, lastSegment(dir));
+        this.pack = openSegment(segment);
+        this.index = Files.newBufferedWriter(dir.resolve(INDEX), StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /** Opens (or creates) the store in {@code dir} for appending; new records go to the newest segment. */
+    public static ArtifactStore open(Path dir, long segmentMaxBytes) throws IOException {
+        return new ArtifactStore(dir, segmentMaxBytes);
+    }
+
+    /** The store configured by {@code artifact.store.*}, or null when artifacts are written as loose files. */
+    public static ArtifactStore fromConfig(Properties config) {
+        if (!Boolean.parseBoolean(config.getProperty("artifact.store.enabled", "false"))) {
+            return null;
+        }
+        Path dir = Paths.get(config.getProperty("artifact.store.dir", "artifacts"));
+        long segmentMaxBytes = Long.parseLong(config.getProperty("artifact.segment.max.mb", "64")) * 1024 * 1024;
+        try {
+            ArtifactStore store = open(dir, segmentMaxBytes);
+            System.out.println("   ✓ Artifacts packed into " + dir.toAbsolutePath());
+            return store;
+        } catch (IOException e) {
+            System.out.println("   ⚠️ Could not open artifact store, writing loose files: " + e.getMessage());
+            return null;
+        }
+    }
+
+    public synchronized Entry append(String run, String step, String type, byte[] data) throws IOException {
+        if (pack.size() > 0 && pack.size() + 8 + data.length > segmentMaxBytes) {
+            pack.close();
+            segment++;
+            pack = openSegment(segment);
+        }
+        ByteBuffer header = ByteBuffer.allocate(8).putInt(MAGIC).putInt(data.length);
+        header.flip();
+        long offset = pack.size() + 8;
+        pack.position(pack.size());
+        while (header.hasRemaining()) pack.write(header);
+        ByteBuffer payload = ByteBuffer.wrap(data);
+        while (payload.hasRemaining()) pack.write(payload);
+
+        Entry entry = new Entry(clean(run), clean(step), System.currentTimeMillis(), clean(type), segment, offset, data.length);
+        // The index line is written after the payload, so an indexed record is always complete
+        index.write(entry.toIndexLine());
+        index.newLine();
+        index.flush();
+        return entry;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        index.close();
+        pack.close();
+    }
+
+    private FileChannel openSegment(int n) throws IOException {
+        return FileChannel.open(segmentPath(dir, n), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    static Path segmentPath(Path dir, int n) {
+        return dir.resolve(String.format("pack-%05d.dat", n));
+    }
+
+    private static int lastSegment(Path dir) throws IOException {
+        int last = -1;
+        try (DirectoryStream<Path> packs = Files.newDirectoryStream(dir, "pack-*.dat")) {
+            for (Path p : packs) {
+                String name = p.getFileName().toString();
+                last = Math.max(last, Integer.parseInt(name.substring(5, name.length() - 4)));
+            }
+        }
+        return last;
+    }
+
+    // Tabs and newlines would break the index format
+    private static String clean(String s) {
+        return s.replaceAll("[\\t\\r\\n]", "_");
+    }
+
+    /** Read side: loads the index and memory-maps pack segments on first access for random reads. */
+    public static class Reader implements Closeable {
+
+        private final Path dir;
+        private final List<Entry> entries = new ArrayList<>();
+        private final Map<Integer, MappedByteBuffer> segments = new HashMap<>();
+
+        private Reader(Path dir) throws IOException {
+            this.dir = dir;
+            for (String line : Files.readAllLines(dir.resolve(INDEX), StandardCharsets.UTF_8)) {
+                Entry entry = Entry.parse(line);
+                if (entry != null) {
+                    entries.add(entry);
+                }
+            }
+        }
+
+        public static Reader open(Path dir) throws IOException {
+            return new Reader(dir);
+        }
+
+        public List<Entry> entries() {
+            return entries;
+        }
+
+        /** Entries matching {@code run} and {@code step}; null matches anything. Oldest first. */
+        public List<Entry> find(String run, String step) {
+            List<Entry> found = new ArrayList<>();
+            for (Entry e : entries) {
+                if ((run == null || run.equals(e.run)) && (step == null || step.equals(e.step))) {
+                    found.add(e);
+                }
+            }
+            return found;
+        }
+
+        public synchronized byte[] read(Entry entry) throws IOException {
+            MappedByteBuffer map = segments.get(entry.segment);
+            if (map == null) {
+                try (FileChannel ch = FileChannel.open(segmentPath(dir, entry.segment), StandardOpenOption.READ)) {
+                    map = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+                }
+                segments.put(entry.segment, map);
+            }
+            if (map.getInt((int) entry.offset - 8) != MAGIC) {
+                throw new IOException("Corrupt pack record at " + entry);
+            }
+            byte[] data = new byte[entry.length];
+            ByteBuffer view = map.duplicate();
+            view.position((int) entry.offset);
+            view.get(data);
+            return data;
+        }
+
+        @Override
+        public synchronized void close() {
+            // Mapped buffers are released by the GC; dropping references is all that can be done portably
+            segments.clear();
+        }
+    }
+}
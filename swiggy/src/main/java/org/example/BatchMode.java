@@ -0,0 +1,121 @@
+package org.example;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Unattended runs: inputs come from config.properties and {@code key=value} arguments instead of the console,
+ * browsers are released as soon as a flow ends, and the process exit code reports the outcome so runs can be
+ * scheduled and chained. {@code batch.scenarios} runs several fault scenarios back to back in one JVM.
+ * <pre>
+ * java -cp ... org.example.SwiggyAutomationFixed --batch mock.site.enabled=true \
+ *     batch.scenarios=scenarios/baseline.properties,scenarios/slow-network.properties
+ * </pre>
+ */
+public class BatchMode {
+
+    public static final int EXIT_OK = 0;
+    public static final int EXIT_FLOW_FAILED = 1;
+    public static final int EXIT_SETUP_FAILED = 2;
+
+    /** One run against a scenario's copy of the configuration; returns one of the exit codes above. */
+    public interface ScenarioRun {
+        int run(Properties config);
+    }
+
+    /** Applies {@code --batch} and {@code key=value} arguments on top of {@code config}. */
+    public static void applyArgs(Properties config, String[] args) {
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if ("--batch".equals(arg)) {
+                config.setProperty("run.batch", "true");
+            } else if (eq > 0) {
+                config.setProperty(arg.substring(0, eq).trim(), arg.substring(eq + 1).trim());
+            } else {
+                throw new IllegalArgumentException("Expected --batch or key=value, got " + arg);
+            }
+        }
+    }
+
+    /** Like {@link #applyArgs}, but a bad argument ends the JVM with {@link #EXIT_SETUP_FAILED} instead of a stack trace. */
+    public static void applyArgsOrExit(Properties config, String[] args) {
+        try {
+            applyArgs(config, args);
+        } catch (IllegalArgumentException e) {
+            System.err.println("❌ " + e.getMessage());
+            System.exit(EXIT_SETUP_FAILED);
+        }
+    }
+
+    /** {@code run.batch} (or -Drun.batch) */
+    public static boolean isEnabled(Properties config) {
+        return Boolean.parseBoolean(System.getProperty("run.batch", config.getProperty("run.batch", "false")));
+    }
+
+    /**
+     * Runs {@code run} once per entry of {@code batch.scenarios} (or once with {@code fault.scenario} when the
+     * list is empty), each with its own copy of {@code config} and its own fault proxy, and prints a summary.
+     * @return the worst exit code of all runs
+     */
+    public static int runScenarios(Properties config, ScenarioRun run) {
+        List<String> scenarios = new ArrayList<>();
+        for (String file : config.getProperty("batch.scenarios", "").split(",")) {
+            if (!file.trim().isEmpty()) {
+                scenarios.add(file.trim());
+            }
+        }
+        if (scenarios.isEmpty()) {
+            scenarios.add(config.getProperty("fault.scenario", "").trim());
+        }
+
+        List<String> rows = new ArrayList<>();
+        int worst = EXIT_OK;
+        for (int i = 0; i < scenarios.size(); i++) {
+            String file = scenarios.get(i);
+            String label = file.isEmpty() ? "(no scenario)" : file;
+            System.out.println("\n📋 Batch run " + (i + 1) + "/" + scenarios.size() + ": " + label);
+
+            Properties runConfig = new Properties();
+            runConfig.putAll(config);
+            runConfig.setProperty("fault.scenario", file);
+            long start = System.currentTimeMillis();
+            int code;
+            FaultProxy proxy = null;
+            try {
+                proxy = FaultProxy.startIfConfigured(runConfig);
+                code = run.run(runConfig);
+            } catch (IOException | RuntimeException e) {
+                System.out.println("   ❌ Batch run could not start: " + e.getMessage());
+                code = EXIT_SETUP_FAILED;
+            } finally {
+                if (proxy != null) {
+                    proxy.stop();
+                }
+            }
+            worst = Math.max(worst, code);
+            rows.add(String.format("%-40s %-14s %10d", label, describe(code), System.currentTimeMillis() - start));
+        }
+
+        System.out.println("\n=== BATCH SUMMARY ===");
+        System.out.println(String.format("%-40s %-14s %10s", "Scenario", "Result", "Wall(ms)"));
+        for (String row : rows) {
+            System.out.println(row);
+        }
+        System.out.println("Exit code: " + worst);
+        System.out.println("=====================");
+        return worst;
+    }
+
+    private static String describe(int code) {
+        switch (code) {
+            case EXIT_OK:
+                return "passed";
+            case EXIT_FLOW_FAILED:
+                return "flow failed";
+            default:
+                return "setup failed";
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.example;
+
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.util.Properties;
+
+/**
+ * Chrome launch profile selected with {@code browser.profile} in config.properties.
+ * "standard" is the maximized, headed browser used for watching a run; "throughput" is a headless
+ * browser at a fixed viewport with GPU, extensions and background networking turned off.
+ */
+public class BrowserProfile {
+
+    public static final String STANDARD = "standard";
+    public static final String THROUGHPUT = "throughput";
+
+    private final String name;
+    private final String viewport;
+
+    private BrowserProfile(String name, String viewport) {
+        this.name = name;
+        this.viewport = viewport;
+    }
+
+    /** Reads the profile from config; a -Dbrowser.profile system property takes precedence. */
+    public static BrowserProfile fromConfig(Properties config) {
+        String name = System.getProperty("browser.profile", config.getProperty("browser.profile", STANDARD));
+        return named(name.trim().toLowerCase(), config);
+    }
+
+    public static BrowserProfile named(String name, Properties config) {
+        if (!STANDARD.equals(name) && !THROUGHPUT.equals(name)) {
+            System.out.println("   ⚠️ Unknown browser.profile '" + name + "', using " + STANDARD);
+            name = STANDARD;
+        }
+        return new BrowserProfile(name, config.getProperty("browser.viewport", "1366,768"));
+    }
+
+    public String getName() { return name; }
+    public boolean isHeadless() { return THROUGHPUT.equals(name); }
+
+    /** Adds the window and resource flags of this profile to {@code options}. */
+    public ChromeOptions applyTo(ChromeOptions options) {
+        if (!isHeadless()) {
+            options.addArguments("--start-maximized");
+            return options;
+        }
+        options.addArguments("--headless=new");
+        options.addArguments("--window-size=" + viewport);
+        options.addArguments("--disable-gpu");
+        options.addArguments("--disable-extensions");
+        options.addArguments("--disable-background-networking");
+        options.addArguments("--disable-component-update");
+        options.addArguments("--disable-default-apps");
+        options.addArguments("--disable-sync");
+        options.addArguments("--no-first-run");
+        options.addArguments("--mute-audio");
+        return options;
+    }
+}
@@ -0,0 +1,85 @@
+package org.example;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.List;
+
+/**
+ * Event-driven replacement for fixed Thread.sleep pauses.
+ * Injects a MutationObserver and a fetch/XHR in-flight counter into the page and
+ * returns as soon as the DOM and the network have both been quiet for a window.
+ * <p>
+ * One of two identical copies, in swiggy (org.example) and in swiggyautomate (default package); swiggyautomate
+ * is a standalone test module that does not depend on swiggy. Change both together.
+ */
+public class DomQuiescence {
+
+    private static final long POLL_INTERVAL_MS = 100;
+
+    // Requests older than this are treated as long-polls/beacons and no longer block quiescence
+    private static final long STALE_REQUEST_MS = 5000;
+
+    // Installs the probe once per document and returns [readyState, pendingRequests, msSinceLastActivity]
+    private static final String PROBE_SCRIPT =
+        "var w = window;" +
+        "if (!w.__swgQuiet) {" +
+        "  var s = w.__swgQuiet = {last: Date.now(), seq: 0, inflight: {}};" +
+        "  var touch = function() { s.last = Date.now(); };" +
+        "  var begin = function() { var id = ++s.seq; s.inflight[id] = Date.now(); touch(); return id; };" +
+        "  var end = function(id) { delete s.inflight[id]; touch(); };" +
+        "  new MutationObserver(touch).observe(document.documentElement," +
+        "      {childList: true, subtree: true, characterData: true});" +
+        "  if (w.fetch) {" +
+        "    var origFetch = w.fetch;" +
+        "    w.fetch = function() {" +
+        "      var id = begin();" +
+        "      return origFetch.apply(this, arguments).finally(function() { end(id); });" +
+        "    };" +
+        "  }" +
+        "  var origSend = XMLHttpRequest.prototype.send;" +
+        "  XMLHttpRequest.prototype.send = function() {" +
+        "    var id = begin();" +
+        "    this.addEventListener('loadend', function() { end(id); });" +
+        "    return origSend.apply(this, arguments);" +
+        "  };" +
+        "}" +
+        "var q = w.__swgQuiet, now = Date.now(), pending = 0;" +
+        "for (var k in q.inflight) { if (now - q.inflight[k] < arguments[0]) pending++; }" +
+        "return [document.readyState, pending, now - q.last];";
+
+    /**
+     * Blocks until the page has been quiet for {@code quietWindowMs} or {@code timeoutMs} elapses.
+     * @return milliseconds actually spent waiting
+     */
+    public static long awaitQuiet(WebDriver driver, long quietWindowMs, long timeoutMs) {
+        long start = System.currentTimeMillis();
+        long deadline = start + timeoutMs;
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                List<?> state = (List<?>) js.executeScript(PROBE_SCRIPT, STALE_REQUEST_MS);
+                boolean complete = "complete".equals(state.get(0));
+                long pending = ((Number) state.get(1)).longValue();
+                long idleFor = ((Number) state.get(2)).longValue();
+                if (complete && pending == 0 && idleFor >= quietWindowMs) {
+                    break;
+                }
+            } catch (Exception e) {
+                // Navigation in progress or document replaced; the probe is re-installed on the next poll
+            }
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                break;
+            }
+            try {
+                Thread.sleep(Math.min(POLL_INTERVAL_MS, remaining));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return System.currentTimeMillis() - start;
+    }
+}
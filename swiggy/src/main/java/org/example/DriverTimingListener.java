@@ -0,0 +1,58 @@
+package org.example;
+
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Counts and times every call made through a driver wrapped with Selenium's EventFiringDecorator
+ * and charges it to the current step of the flow's {@link RunReport}. Element calls are recorded as
+ * {@code element.<method>}; accessors that never reach the browser (manage(), navigate(), ...) are skipped.
+ */
+public class DriverTimingListener implements WebDriverListener {
+
+    // Local accessors and Object methods: no browser round trip behind them
+    private static final Set<String> LOCAL_CALLS = new HashSet<>(Arrays.asList(
+        "manage", "navigate", "switchTo", "timeouts", "window", "logs",
+        "getWrappedDriver", "getWrappedElement", "toString", "hashCode", "equals"));
+
+    private final RunReport report;
+    // Start times of calls in progress; a stack because decorated calls can nest
+    private final ThreadLocal<Deque<Long>> started = ThreadLocal.withInitial(ArrayDeque::new);
+    private final ThreadLocal<Deque<String>> commands = ThreadLocal.withInitial(ArrayDeque::new);
+
+    public DriverTimingListener(RunReport report) {
+        this.report = report;
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        commands.get().push(target instanceof WebElement ? "element." + method.getName() : method.getName());
+        started.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        end();
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        end();
+    }
+
+    private void end() {
+        Long start = started.get().poll();
+        String command = commands.get().poll();
+        if (start != null && !LOCAL_CALLS.contains(command)) {
+            report.recordDriverCall(command, System.nanoTime() - start);
+        }
+    }
+}
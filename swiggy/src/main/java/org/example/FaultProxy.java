@@ -0,0 +1,231 @@
+package org.example;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local reverse proxy in front of the storefront (normally {@link MockSwiggySite}) that applies a
+ * {@link FaultScenario}: per-route delays, bandwidth caps, injected errors and popup overlays.
+ * Flows are pointed at the proxy through {@code site.base.url}, so waits and timeouts can be tuned
+ * against a reproducible slow or flaky site instead of the live one.
+ */
+public class FaultProxy {
+
+    // Headers the proxy must not copy; HttpClient sets them itself or they are per-connection
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+        "connection", "content-length", "date", "expect", "host", "keep-alive", "transfer-encoding", "upgrade");
+
+    private static final int CHUNK_INTERVAL_MS = 100;
+
+    // Overlay similar to the live site's offer popups; closable through the usual close/Later buttons
+    private static final String POPUP_SNIPPET =
+        "<div class=\"fault-popup\" style=\"display:none;position:fixed;inset:0;z-index:9999;background:rgba(40,44,63,.6)\">" +
+        "<div style=\"background:#fff;width:360px;margin:20vh auto;padding:24px\">" +
+        "<h3>Get 60%% off on your first order</h3>" +
+        "<button class=\"close\" aria-label=\"close\">✕</button> <button>Later</button></div></div>" +
+        "<script>(function(){var p=document.querySelector('.fault-popup');" +
+        "p.querySelectorAll('button').forEach(function(b){b.onclick=function(){p.remove();};});" +
+        "setTimeout(function(){p.style.display='block';},%d);})();</script>";
+
+    private final FaultScenario scenario;
+    private final String upstream;
+    private final HttpServer server;
+    private final HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .followRedirects(HttpClient.Redirect.NEVER)
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+    private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "fault-proxy-http");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Per-route counters: requests, injected delay ms, injected errors, popups, response bytes
+    private final Map<String, AtomicLong[]> stats = new TreeMap<>();
+
+    private FaultProxy(FaultScenario scenario, String upstream, int port) throws IOException {
+        this.scenario = scenario;
+        this.upstream = upstream.endsWith("/") ? upstream.substring(0, upstream.length() - 1) : upstream;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(executor);
+    }
+
+    public static FaultProxy start(FaultScenario scenario, String upstream, int port) throws IOException {
+        FaultProxy proxy = new FaultProxy(scenario, upstream, port);
+        proxy.server.start();
+        System.out.println("   ✓ Fault proxy '" + scenario.getName() + "' on " + proxy.getBaseUrl() + " -> " + proxy.upstream);
+        return proxy;
+    }
+
+    /**
+     * Starts the proxy when {@code fault.scenario} names a scenario file and reroutes {@code site.base.url}
+     * through it; the scenario name is kept in {@code fault.scenario.name} for the run records.
+     * @return the running proxy, or null when no scenario is configured
+     */
+    public static FaultProxy startIfConfigured(Properties config) throws IOException {
+        String file = config.getProperty("fault.scenario", "").trim();
+        if (file.isEmpty()) {
+            return null;
+        }
+        FaultScenario scenario = FaultScenario.load(file);
+        FaultProxy proxy = start(scenario, config.getProperty("site.base.url", "https://www.swiggy.com"),
+            Integer.parseInt(config.getProperty("fault.proxy.port", "8090")));
+        config.setProperty("site.base.url", proxy.getBaseUrl());
+        config.setProperty("fault.scenario.name", scenario.getName());
+        return proxy;
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+        printMetrics();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            FaultScenario.Route route = scenario.routeFor(path);
+            AtomicLong[] counters = counters(route != null ? route.getName() : "(passthrough)");
+            counters[0].incrementAndGet();
+
+            if (route != null) {
+                long delay = scenario.drawDelayMs(route);
+                if (delay > 0) {
+                    counters[1].addAndGet(delay);
+                    Thread.sleep(delay);
+                }
+                if (scenario.drawError(route)) {
+                    counters[2].incrementAndGet();
+                    if (route.getErrorStatus() > 0) {
+                        byte[] body = ("Injected fault " + route.getErrorStatus()).getBytes(StandardCharsets.UTF_8);
+                        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+                        exchange.sendResponseHeaders(route.getErrorStatus(), body.length);
+                        exchange.getResponseBody().write(body);
+                    }
+                    // Status 0: close without any response, like a dropped connection
+                    return;
+                }
+            }
+
+            HttpResponse<byte[]> upstreamResponse = forward(exchange);
+            byte[] body = upstreamResponse.body();
+            String type = upstreamResponse.headers().firstValue("Content-Type").orElse("");
+            if (type.startsWith("text/html") && scenario.injectsPopup(path)) {
+                body = injectPopup(body);
+                counters[3].incrementAndGet();
+            }
+
+            for (Map.Entry<String, List<String>> header : upstreamResponse.headers().map().entrySet()) {
+                if (!SKIPPED_HEADERS.contains(header.getKey().toLowerCase(Locale.ROOT)) && !header.getKey().startsWith(":")) {
+                    exchange.getResponseHeaders().put(header.getKey(), header.getValue());
+                }
+            }
+            exchange.sendResponseHeaders(upstreamResponse.statusCode(), body.length == 0 ? -1 : body.length);
+            if (body.length > 0) {
+                write(exchange.getResponseBody(), body, route != null ? route.getBandwidthKbps() : 0);
+            }
+            counters[4].addAndGet(body.length);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.out.println("   ⚠️ Fault proxy could not serve " + exchange.getRequestURI() + ": " + e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private HttpResponse<byte[]> forward(HttpExchange exchange) throws IOException, InterruptedException {
+        byte[] requestBody = exchange.getRequestBody().readAllBytes();
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(upstream + exchange.getRequestURI()))
+            .method(exchange.getRequestMethod(), requestBody.length == 0
+                ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(requestBody));
+        for (Map.Entry<String, List<String>> header : exchange.getRequestHeaders().entrySet()) {
+            String name = header.getKey().toLowerCase(Locale.ROOT);
+            // Uncompressed bodies, so popups can be injected and bandwidth caps count real bytes
+            if (!SKIPPED_HEADERS.contains(name) && !name.equals("accept-encoding")) {
+                for (String value : header.getValue()) {
+                    request.header(header.getKey(), value);
+                }
+            }
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    // Trickle the body out in fixed intervals so a bandwidth cap behaves like a slow link, not one long pause
+    private static void write(OutputStream out, byte[] body, int kbps) throws IOException, InterruptedException {
+        if (kbps <= 0) {
+            out.write(body);
+            return;
+        }
+        int chunk = Math.max(1, kbps * 1024 / 8 * CHUNK_INTERVAL_MS / 1000);
+        for (int offset = 0; offset < body.length; offset += chunk) {
+            out.write(body, offset, Math.min(chunk, body.length - offset));
+            out.flush();
+            Thread.sleep(CHUNK_INTERVAL_MS);
+        }
+    }
+
+    private byte[] injectPopup(byte[] html) {
+        String page = new String(html, StandardCharsets.UTF_8);
+        String snippet = String.format(POPUP_SNIPPET, scenario.getPopupDelayMs());
+        int end = page.lastIndexOf("</body>");
+        page = end >= 0 ? page.substring(0, end) + snippet + page.substring(end) : page + snippet;
+        return page.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private AtomicLong[] counters(String route) {
+        synchronized (stats) {
+            return stats.computeIfAbsent(route, k -> new AtomicLong[] {
+                new AtomicLong(), new AtomicLong(), new AtomicLong(), new AtomicLong(), new AtomicLong() });
+        }
+    }
+
+    public void printMetrics() {
+        System.out.println("\n=== FAULT PROXY: " + scenario.getName() + " ===");
+        System.out.println(String.format("%-16s %8s %10s %7s %7s %10s", "Route", "Requests", "Delay ms", "Errors", "Popups", "Bytes"));
+        synchronized (stats) {
+            for (Map.Entry<String, AtomicLong[]> e : stats.entrySet()) {
+                AtomicLong[] c = e.getValue();
+                System.out.println(String.format("%-16s %8d %10d %7d %7d %10d",
+                    e.getKey(), c[0].get(), c[1].get(), c[2].get(), c[3].get(), c[4].get()));
+            }
+        }
+        System.out.println("===================");
+    }
+
+    /** Runs the proxy on its own: {@code FaultProxy <scenario.properties> <upstream url> [port]}. */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.out.println("Usage: FaultProxy <scenario.properties> <upstream url> [port]");
+            return;
+        }
+        FaultProxy proxy = start(FaultScenario.load(args[0]), args[1], args.length > 2 ? Integer.parseInt(args[2]) : 8090);
+        Runtime.getRuntime().addShutdownHook(new Thread(proxy::stop));
+        Thread.currentThread().join();
+    }
+}
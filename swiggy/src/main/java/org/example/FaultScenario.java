@@ -0,0 +1,135 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.TreeSet;
+
+/**
+ * A replayable perturbation profile for {@link FaultProxy}, read from a scenario .properties file:
+ * <pre>
+ * name=slow-listing
+ * seed=42
+ * route.listing.path=/api/restaurants     # path prefix; the longest matching prefix wins
+ * route.listing.delay.ms=8000              # added before the response starts
+ * route.listing.jitter.ms=500              # plus 0..jitter, drawn from the seeded random
+ * route.listing.bandwidth.kbps=256         # response body is trickled at this rate
+ * route.listing.error.rate=0.1             # share of requests answered with error.status instead
+ * route.listing.error.status=503           # 0 drops the connection without a response
+ * popup.paths=/restaurants/,/checkout      # HTML pages that get a promotional overlay injected
+ * popup.delay.ms=1500
+ * </pre>
+ * The same file and seed give the same sequence of delays and errors for the same request order.
+ */
+public class FaultScenario {
+
+    /** Perturbation for all requests whose path starts with {@link #getPath()}. */
+    public static class Route {
+        private final String name;
+        private final String path;
+        private final long delayMs;
+        private final long jitterMs;
+        private final int bandwidthKbps;
+        private final double errorRate;
+        private final int errorStatus;
+
+        Route(String name, Properties props) {
+            String prefix = "route." + name + ".";
+            this.name = name;
+            this.path = props.getProperty(prefix + "path", "/");
+            this.delayMs = Long.parseLong(props.getProperty(prefix + "delay.ms", "0"));
+            this.jitterMs = Long.parseLong(props.getProperty(prefix + "jitter.ms", "0"));
+            this.bandwidthKbps = Integer.parseInt(props.getProperty(prefix + "bandwidth.kbps", "0"));
+            this.errorRate = Double.parseDouble(props.getProperty(prefix + "error.rate", "0"));
+            this.errorStatus = Integer.parseInt(props.getProperty(prefix + "error.status", "503"));
+        }
+
+        public String getName() { return name; }
+        public String getPath() { return path; }
+        public int getBandwidthKbps() { return bandwidthKbps; }
+        public int getErrorStatus() { return errorStatus; }
+
+        public boolean matches(String requestPath) {
+            return requestPath.startsWith(path);
+        }
+    }
+
+    private final String name;
+    private final List<Route> routes = new ArrayList<>();
+    private final List<String> popupPaths = new ArrayList<>();
+    private final long popupDelayMs;
+    private final Random random;
+
+    private FaultScenario(String name, Properties props) {
+        this.name = props.getProperty("name", name);
+        this.random = new Random(Long.parseLong(props.getProperty("seed", "1")));
+        this.popupDelayMs = Long.parseLong(props.getProperty("popup.delay.ms", "1000"));
+
+        TreeSet<String> routeNames = new TreeSet<>();
+        for (String key : props.stringPropertyNames()) {
+            if (key.startsWith("route.") && key.indexOf('.', 6) > 0) {
+                routeNames.add(key.substring(6, key.indexOf('.', 6)));
+            }
+        }
+        for (String routeName : routeNames) {
+            routes.add(new Route(routeName, props));
+        }
+        // Most specific prefix first, so a catch-all "/" route only applies where nothing else does
+        routes.sort(Comparator.comparingInt((Route r) -> -r.path.length()));
+
+        for (String path : props.getProperty("popup.paths", "").split(",")) {
+            if (!path.trim().isEmpty()) {
+                popupPaths.add(path.trim());
+            }
+        }
+    }
+
+    public static FaultScenario load(String path) throws IOException {
+        Path file = Paths.get(path);
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            props.load(in);
+        }
+        String fileName = file.getFileName().toString();
+        return new FaultScenario(fileName.replaceFirst("\\.properties$", ""), props);
+    }
+
+    public String getName() { return name; }
+    public List<Route> getRoutes() { return routes; }
+    public long getPopupDelayMs() { return popupDelayMs; }
+
+    /** The most specific route for {@code path}, or null when the request passes through untouched. */
+    public Route routeFor(String path) {
+        for (Route route : routes) {
+            if (route.matches(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    public boolean injectsPopup(String path) {
+        for (String prefix : popupPaths) {
+            if (path.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Draws come from one seeded generator so a replay sees the same sequence
+    public synchronized long drawDelayMs(Route route) {
+        return route.delayMs + (route.jitterMs > 0 ? (long) (random.nextDouble() * route.jitterMs) : 0);
+    }
+
+    public synchronized boolean drawError(Route route) {
+        return route.errorRate > 0 && random.nextDouble() < route.errorRate;
+    }
+}
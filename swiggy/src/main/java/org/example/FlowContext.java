@@ -0,0 +1,60 @@
+package org.example;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * State owned by one order flow: its browser (wrapped for command timing), wait, configuration and run report.
+ * Selector statistics and the session vault are thread-safe and shared by all flows.
+ */
+public class FlowContext {
+
+    private static final AtomicInteger NEXT_ID = new AtomicInteger(1);
+    // Shared by every flow of this JVM so artifacts of one invocation group together
+    private static final String RUN_STARTED = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+
+    private final int id = NEXT_ID.getAndIncrement();
+    private final WebDriver driver;
+    private final WebDriverWait wait;
+    private final Properties config;
+    private final RunReport report = new RunReport();
+    private final SelectorStats selectorStats;
+    private final SessionVault sessionVault;
+    private final NetworkBlocker networkBlocker;
+
+    public FlowContext(WebDriver driver, Properties config, SelectorStats selectorStats, SessionVault sessionVault) {
+        // Every command goes through the timing listener so the report knows where step time went
+        this.driver = new EventFiringDecorator<WebDriver>(new DriverTimingListener(report)).decorate(driver);
+        this.wait = new WebDriverWait(this.driver, Duration.ofSeconds(15));
+        this.config = config;
+        this.selectorStats = selectorStats;
+        this.sessionVault = sessionVault;
+        // DevTools needs the undecorated driver
+        this.networkBlocker = NetworkBlocker.attach(driver, config);
+    }
+
+    public int getId() { return id; }
+    public String getName() { return "flow-" + id; }
+    public String getRunId() { return RUN_STARTED + "-" + getName(); }
+    public WebDriver getDriver() { return driver; }
+    public WebDriverWait getWait() { return wait; }
+    public Properties getConfig() { return config; }
+    public RunReport getReport() { return report; }
+    public SelectorStats getSelectorStats() { return selectorStats; }
+    public SessionVault getSessionVault() { return sessionVault; }
+    /** Request blocker for this flow, or null when network.block.enabled is off. */
+    public NetworkBlocker getNetworkBlocker() { return networkBlocker; }
+
+    /** Site under test without a trailing slash: swiggy.com by default, or a local mock via {@code site.base.url}. */
+    public String getBaseUrl() {
+        String url = config.getProperty("site.base.url", "https://www.swiggy.com").trim();
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
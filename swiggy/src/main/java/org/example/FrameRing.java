@@ -0,0 +1,58 @@
+package org.example;
+
+import java.nio.file.Path;
+
+/**
+ * Fixed-size in-memory ring of the most recent screenshots of a flow. Frames stay in memory and are
+ * only handed to the {@link ScreenshotWriter} when something fails, so successful runs write nothing
+ * but a failure still comes with the frames that led up to it.
+ */
+public class FrameRing {
+
+    private final Path[] paths;
+    private final String[] runs;
+    private final String[] steps;
+    private final byte[][] frames;
+    private int next;
+    private int count;
+    private long captured;
+    private long written;
+
+    public FrameRing(int size) {
+        this.paths = new Path[Math.max(1, size)];
+        this.runs = new String[paths.length];
+        this.steps = new String[paths.length];
+        this.frames = new byte[paths.length][];
+    }
+
+    /** Keeps the frame, overwriting the oldest one once the ring is full. */
+    public synchronized void add(Path path, String run, String step, byte[] png) {
+        paths[next] = path;
+        runs[next] = run;
+        steps[next] = step;
+        frames[next] = png;
+        next = (next + 1) % paths.length;
+        count = Math.min(count + 1, paths.length);
+        captured++;
+    }
+
+    /** Writes the buffered frames oldest-first and empties the ring; returns the number written. */
+    public synchronized int dump() throws InterruptedException {
+        int start = (next - count + paths.length) % paths.length;
+        int dumped = count;
+        for (int i = 0; i < dumped; i++) {
+            int slot = (start + i) % paths.length;
+            ScreenshotWriter.shared().submit(paths[slot], runs[slot], steps[slot], "png", frames[slot]);
+            paths[slot] = null;
+            runs[slot] = null;
+            steps[slot] = null;
+            frames[slot] = null;
+        }
+        count = 0;
+        written += dumped;
+        return dumped;
+    }
+
+    public synchronized long getCaptured() { return captured; }
+    public synchronized long getWritten() { return written; }
+}
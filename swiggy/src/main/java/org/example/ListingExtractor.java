@@ -0,0 +1,94 @@
+package org.example;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads every visible restaurant card on a listing page in one executeScript round trip, so choosing a
+ * restaurant needs no per-card isDisplayed, scroll or getText calls. Cards are found through their
+ * restaurant links; name, rating, ETA and cost for two come from well-known class names when present and
+ * from the card text otherwise.
+ */
+public class ListingExtractor {
+
+    // Returns [{name, url, rating, eta, cost, link}] in document order
+    private static final String EXTRACT_SCRIPT =
+        "var visible = function(el) {" +
+        "  if (!el.getClientRects().length) return false;" +
+        "  var cs = window.getComputedStyle(el);" +
+        "  return cs.visibility !== 'hidden' && cs.display !== 'none';" +
+        "};" +
+        "var text = function(root, sel) {" +
+        "  var el = root.querySelector(sel);" +
+        "  return el ? el.textContent.replace(/\\s+/g, ' ').trim() : '';" +
+        "};" +
+        "var num = function(re, s) { var m = re.exec(s); return m ? parseFloat(m[1].replace(/,/g, '')) : -1; };" +
+        "var out = [], seen = {}, links = document.querySelectorAll(\"a[href*='/restaurants/']\");" +
+        "for (var i = 0; i < links.length; i++) {" +
+        "  var a = links[i], href = a.href;" +
+        "  if (seen[href] || !visible(a)) continue;" +
+        "  seen[href] = true;" +
+        "  var card = a.closest(\"[data-testid='restaurant-card'], [class*='listingCard'], div[class*='_1MIkP']\") || a;" +
+        "  var body = (card.innerText || card.textContent || '').replace(/\\u00a0/g, ' ');" +
+        "  var lines = body.split('\\n').map(function(l) { return l.trim(); }).filter(Boolean);" +
+        "  var name = text(card, \"[data-testid='restaurant-name'], [class*='restaurantName'], [class*='RestaurantName'], h3, h2\") || lines[0] || '';" +
+        "  var rating = parseFloat(text(card, \"[class*='rating' i], [aria-label*='rating' i]\"));" +
+        "  if (isNaN(rating)) rating = num(/(?:^|\\s)([0-5]\\.\\d)(?:\\s|$|\\u2022|\\u2605)/, body);" +
+        "  out.push({name: name, url: href, rating: rating," +
+        "            eta: num(/(\\d+)\\s*(?:-\\s*\\d+\\s*)?min/i, body)," +
+        "            cost: num(/\\u20b9\\s*([\\d,]+)\\s*for\\s*two/i, body)," +
+        "            link: a});" +
+        "}" +
+        "return out;";
+
+    /** Visible restaurant cards in listing order; empty when the page shows none. */
+    public static List<RestaurantCard> extract(WebDriver driver) {
+        List<RestaurantCard> cards = new ArrayList<>();
+        try {
+            List<?> rows = (List<?>) ((JavascriptExecutor) driver).executeScript(EXTRACT_SCRIPT);
+            for (Object o : rows) {
+                Map<?, ?> row = (Map<?, ?>) o;
+                cards.add(new RestaurantCard(cards.size(), (String) row.get("name"), (String) row.get("url"),
+                    ((Number) row.get("rating")).doubleValue(), ((Number) row.get("eta")).intValue(),
+                    ((Number) row.get("cost")).intValue(), (WebElement) row.get("link")));
+            }
+        } catch (Exception e) {
+            // Listing not rendered or page navigating; callers treat it as no cards
+        }
+        return cards;
+    }
+
+    /** First card whose name contains {@code name} (case-insensitive), or null. */
+    public static RestaurantCard byName(List<RestaurantCard> cards, String name) {
+        for (RestaurantCard card : cards) {
+            if (card.nameContains(name)) {
+                return card;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Card picked by {@code strategy}: "first" (listing order), "rating" (highest first) or "eta"
+     * (fastest first); ties keep listing order. Null when there are no cards.
+     */
+    public static RestaurantCard pick(List<RestaurantCard> cards, String strategy) {
+        if (cards.isEmpty()) {
+            return null;
+        }
+        List<RestaurantCard> sorted = new ArrayList<>(cards);
+        if ("rating".equalsIgnoreCase(strategy)) {
+            sorted.sort(Comparator.comparingDouble(RestaurantCard::getRating).reversed());
+        } else if ("eta".equalsIgnoreCase(strategy)) {
+            // Unknown ETAs go last
+            sorted.sort(Comparator.comparingInt(c -> c.getEtaMinutes() < 0 ? Integer.MAX_VALUE : c.getEtaMinutes()));
+        }
+        return sorted.get(0);
+    }
+}
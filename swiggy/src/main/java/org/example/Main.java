@@ -1,16 +1,14 @@
 package org.example;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
-import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.*;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 
-import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
@@ -21,64 +19,111 @@ import java.util.Scanner;
 // click the <icon src="AllIcons.Actions.Execute"/> icon in the gutter.
 public class
 Main {
-    private static WebDriver driver;
-    private static WebDriverWait wait;
-    private static Scanner scanner;
-    private static Properties config;
+    private final FlowContext ctx;
+    private final WebDriver driver;
+    private final WebDriverWait wait;
+    private final Scanner scanner;
+    private final Properties config;
+
+    public Main(FlowContext ctx, Scanner scanner) {
+        this.ctx = ctx;
+        this.driver = ctx.getDriver();
+        this.wait = ctx.getWait();
+        this.config = ctx.getConfig();
+        this.scanner = scanner;
+    }
 
     public static void main(String[] args) {
+        Properties config = loadConfiguration();
+        BatchMode.applyArgsOrExit(config, args);
+        // Batch runs take every input from the configuration and never wait on the console
+        boolean batch = BatchMode.isEnabled(config);
+        Scanner scanner = batch ? null : new Scanner(System.in);
+        DriverPool driverPool = null;
+        WebDriver driver = null;
+        int exitCode = BatchMode.EXIT_SETUP_FAILED;
         try {
-            loadConfiguration();
-            setupDriver();
-            scanner = new Scanner(System.in);
+            ScreenshotWriter.configure(Integer.parseInt(config.getProperty("screenshot.queue.capacity", "16")),
+                () -> ArtifactStore.fromConfig(config));
+            DriverBinaryCache.resolveChromeDriver(config);
+            BrowserProfile profile = BrowserProfile.fromConfig(config);
+            driverPool = new DriverPool(1, () -> createChromeDriver(profile));
+            driver = driverPool.lease(Duration.ofMinutes(2));
+            DriverBinaryCache.logReady();
+
+            exitCode = BatchMode.EXIT_FLOW_FAILED;
+            if (new Main(new FlowContext(driver, config, null, null), scanner).run()) {
+                exitCode = BatchMode.EXIT_OK;
+            }
+
+        } catch (Exception e) {
+            System.err.println("Error during automation: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            ScreenshotWriter.shared().flush(30000);
+            ScreenshotWriter.shared().printMetrics();
+
+            // Keep browser open for manual inspection
+            if (scanner != null) {
+                System.out.println("\nAutomation completed. Press Enter to close the browser...");
+                scanner.nextLine();
+            }
+            if (driverPool != null) {
+                driverPool.discard(driver);
+                driverPool.shutdown();
+            }
+        }
+        if (batch) {
+            System.exit(exitCode);
+        }
+    }
 
-            // Step 1: Navigate to Swiggy and Login
-            navigateToSwiggy();
-            loginToSwiggy();
+    /** @return true if the flow ended on the payment page */
+    public boolean run() throws InterruptedException {
+        // Step 1: Navigate to Swiggy and Login
+        navigateToSwiggy();
+        loginToSwiggy();
 
-            // Step 2: Validate page title and URL
-            validatePageTitleAndURL();
+        // Step 2: Validate page title and URL
+        validatePageTitleAndURL();
 
-            // Step 3: Enter delivery location
-            enterDeliveryLocation("Bengaluru");
+        // Step 3: Enter delivery location
+        enterDeliveryLocation("Bengaluru");
 
-            // Step 4: Search for restaurant
-            String restaurantName = searchForRestaurant("Domino's Pizza");
+        // Step 4: Search for restaurant
+        String restaurantName = searchForRestaurant("Domino's Pizza");
 
-            // Step 5: Select food item and add to cart
-            String selectedItem = selectFoodItem();
-            takeScreenshot("after_adding_item_to_cart");
+        // Step 5: Select food item and add to cart
+        String selectedItem = selectFoodItem();
+        takeScreenshot("after_adding_item_to_cart");
 
-            // Step 6: Increase quantity
-            increaseQuantity();
-            takeScreenshot("after_increasing_quantity");
+        // Step 6: Increase quantity
+        increaseQuantity();
+        takeScreenshot("after_increasing_quantity");
 
-            // Step 7: Enter delivery address
-            enterDeliveryAddress();
-            takeScreenshot("after_entering_delivery_address");
+        // Step 7: Enter delivery address
+        enterDeliveryAddress();
+        takeScreenshot("after_entering_delivery_address");
 
-            // Step 8: Proceed to payment
-            proceedToPayment();
-            takeScreenshot("after_proceeding_to_payment");
+        // Step 8: Proceed to payment
+        proceedToPayment();
+        takeScreenshot("after_proceeding_to_payment");
 
-            // Final logs
-            printFinalLogs(restaurantName, selectedItem);
+        // Final logs
+        printFinalLogs(restaurantName, selectedItem);
 
-        } catch (Exception e) {
-            System.err.println("Error during automation: " + e.getMessage());
-            e.printStackTrace();
-        } finally {
-            // Keep browser open for manual inspection
-            System.out.println("\nAutomation completed. Press Enter to close the browser...");
-            scanner.nextLine();
-            if (driver != null) {
-                driver.quit();
-            }
+        // The steps log and carry on past their errors, so the outcome is the page the flow ended on
+        PageStateClassifier.Snapshot last = PageStateClassifier.classify(driver);
+        System.out.println("Final page state: " + last);
+        if (!last.is(PageStateClassifier.State.PAYMENT)) {
+            System.err.println("Flow ended on " + last.getState() + " instead of the payment page");
+            return false;
         }
+        return true;
     }
 
-    private static void loadConfiguration() {
-        config = new Properties();
+    private static Properties loadConfiguration() {
+        Properties config = new Properties();
         try {
             FileInputStream configFile = new FileInputStream("config.properties");
             config.load(configFile);
@@ -86,23 +131,23 @@ Main {
         } catch (IOException e) {
             System.out.println("Error loading configuration: " + e.getMessage());
         }
+        return config;
     }
 
-    private static void setupDriver() {
-        WebDriverManager.chromedriver().setup();
+    private static WebDriver createChromeDriver(BrowserProfile profile) {
         ChromeOptions options = new ChromeOptions();
         options.addArguments("--disable-notifications");
-        options.addArguments("--start-maximized");
+        profile.applyTo(options);
         options.addArguments("--disable-web-security");
         options.addArguments("--disable-features=VizDisplayCompositor");
-        driver = new ChromeDriver(options);
-        wait = new WebDriverWait(driver, Duration.ofSeconds(15)); // Reduced timeout
-        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30)); // Add page load timeout
+        WebDriver chrome = new ChromeDriver(options);
+        chrome.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30)); // Add page load timeout
+        return chrome;
     }
 
-    private static void navigateToSwiggy() {
+    private void navigateToSwiggy() {
         System.out.println("Navigating to Swiggy website...");
-        driver.get("https://www.swiggy.com/");
+        driver.get(ctx.getBaseUrl() + "/");
 
         // Handle location popup if it appears
         try {
@@ -116,7 +161,7 @@ Main {
         }
     }
 
-    private static void loginToSwiggy() {
+    private void loginToSwiggy() {
         try {
             System.out.println("Attempting to login...");
 
@@ -366,6 +411,10 @@ Main {
             takeScreenshot("login_error");
             e.printStackTrace();
 
+            if (scanner == null) {
+                System.out.println("\nLogin process failed. Continuing with automation (batch mode)...");
+                return;
+            }
             System.out.println("\nLogin process failed. Do you want to continue with the automation anyway?");
             System.out.println("Press Enter to continue or type 'exit' to stop:");
             String userChoice = scanner.nextLine();
@@ -379,15 +428,22 @@ Main {
         }
     }
 
-    private static void handleOTPVerification(String phoneNumber) {
+    private void handleOTPVerification(String phoneNumber) {
         System.out.println("\n=== OTP VERIFICATION REQUIRED ===");
         System.out.println("An OTP has been sent to your phone number: " + phoneNumber);
         System.out.println("Please check your phone and enter the OTP in the browser.");
-        System.out.println("After entering the OTP and completing login, press Enter here to continue...");
         takeScreenshot("otp_screen");
 
-        // Wait for user to complete OTP
-        scanner.nextLine();
+        if (scanner == null) {
+            // Batch mode: resume as soon as the login goes through, or carry on after the timeout
+            long timeout = Long.parseLong(config.getProperty("login.otp.timeout.seconds", "30"));
+            System.out.println("Waiting up to " + timeout + " seconds for the login to complete...");
+            SessionVault.awaitLogin(driver, Duration.ofSeconds(timeout));
+        } else {
+            System.out.println("After entering the OTP and completing login, press Enter here to continue...");
+            // Wait for user to complete OTP
+            scanner.nextLine();
+        }
 
         // Give some time for login to complete
         try {
@@ -406,7 +462,7 @@ Main {
         }
     }
 
-    private static void validatePageTitleAndURL() {
+    private void validatePageTitleAndURL() {
         String pageTitle = driver.getTitle();
         String currentURL = driver.getCurrentUrl();
 
@@ -416,7 +472,7 @@ Main {
         System.out.println("========================\n");
     }
 
-    private static void enterDeliveryLocation(String cityName) {
+    private void enterDeliveryLocation(String cityName) {
         try {
             System.out.println("Entering delivery location: " + cityName);
             takeScreenshot("before_location_entry");
@@ -583,7 +639,7 @@ Main {
         }
     }
 
-    private static String searchForRestaurant(String restaurantName) {
+    private String searchForRestaurant(String restaurantName) {
         try {
             // Use the configured restaurant from properties
             String configuredRestaurant = config.getProperty("test.restaurant", restaurantName);
@@ -841,7 +897,7 @@ Main {
         }
     }
 
-    private static String selectRestaurantFromHomepage() throws InterruptedException {
+    private String selectRestaurantFromHomepage() throws InterruptedException {
         System.out.println("   🔍 Searching for restaurants on homepage...");
 
         // Scroll down to load more restaurants
@@ -907,7 +963,7 @@ Main {
         throw new RuntimeException("No delivery restaurants found on homepage");
     }
 
-    private static String selectFoodItem() {
+    private String selectFoodItem() {
         try {
             System.out.println("Selecting food item from restaurant menu...");
             takeScreenshot("before_food_item_selection");
@@ -975,7 +1031,7 @@ Main {
         }
     }
 
-    private static void increaseQuantity() {
+    private void increaseQuantity() {
         try {
             System.out.println("Increasing quantity of the food item...");
             takeScreenshot("before_quantity_increase");
@@ -1034,7 +1090,7 @@ Main {
         }
     }
 
-    private static void enterDeliveryAddress() {
+    private void enterDeliveryAddress() {
         try {
             System.out.println("Entering delivery address...");
             takeScreenshot("before_address_entry");
@@ -1117,7 +1173,7 @@ Main {
         }
     }
 
-    private static void proceedToPayment() {
+    private void proceedToPayment() {
         try {
             System.out.println("Proceeding to payment...");
             takeScreenshot("before_payment_proceed");
@@ -1175,7 +1231,7 @@ Main {
         }
     }
 
-    private static void printFinalLogs(String restaurantName, String selectedItem) {
+    private void printFinalLogs(String restaurantName, String selectedItem) {
         System.out.println("\n=== FINAL LOGS ===");
         System.out.println("Restaurant Name: " + restaurantName);
         System.out.println("Selected Item: " + selectedItem);
@@ -1183,12 +1239,12 @@ Main {
         System.out.println("====================");
     }
 
-    private static void takeScreenshot(String stepName) {
+    private void takeScreenshot(String stepName) {
         try {
             // Define screenshot file name with step name and timestamp
-            String fileName = "screenshot_" + stepName + "_" + System.currentTimeMillis() + ".png";
-            File screenshotFile = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-            FileUtils.copyFile(screenshotFile, new File(fileName));
+            String fileName = "screenshot_" + ctx.getName() + "_" + stepName + "_" + System.currentTimeMillis() + ".png";
+            byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            ScreenshotWriter.shared().submit(Paths.get(fileName), png);
             System.out.println("Screenshot taken: " + fileName);
         } catch (Exception e) {
             System.out.println("Error taking screenshot: " + e.getMessage());
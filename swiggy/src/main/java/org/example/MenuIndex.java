@@ -0,0 +1,195 @@
+package org.example;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * All dishes of the open restaurant menu, read in one asynchronous script call and kept in a hash index by
+ * normalized name. Inside the browser the script scrolls through the menu and expands collapsed sections,
+ * so lazily rendered sections are included without a Java round trip per scroll. Each dish card gets a
+ * {@code data-menu-handle} attribute, so adding a dish by name is one map lookup, one findElement and one click.
+ */
+public class MenuIndex {
+
+    // Card containers, most specific first; ADD buttons outside any of them fall back to their nearest priced block
+    private static final String CARD_SELECTOR =
+        "[data-testid='menu-item'], [data-testid*='dish'], div[class*='dish-card'], div[class*='menu-item'], "
+            + "div[class*='_1HEo8'], div[class*='_3IlBn'], div[class*='_1gURR'], div[class*='_2xK7I'], div[class*='item-card']";
+
+    // Arguments: card selector, budget ms, step pause ms, async callback.
+    // Returns [{handle, name, section, price, veg}] in menu order
+    private static final String INDEX_SCRIPT =
+        "var cardSel = arguments[0], budget = arguments[1], pause = arguments[2], done = arguments[arguments.length - 1];" +
+        "var start = Date.now(), startY = window.scrollY, found = new Map(), stable = 0, lastHeight = -1;" +
+        "window.__swgMenuSeq = window.__swgMenuSeq || 0;" +
+        "var norm = function(s) { return (s || '').replace(/\\s+/g, ' ').trim(); };" +
+        "var isAdd = function(b) { var t = norm(b.textContent).toLowerCase(); return t === 'add' || t === 'add +' || t === '+ add'; };" +
+        "var cards = function() {" +
+        "  var list = Array.from(document.querySelectorAll(cardSel)).filter(function(c) {" +
+        "    return !c.parentElement || !c.parentElement.closest(cardSel);" +
+        "  });" +
+        "  var buttons = document.querySelectorAll('button');" +
+        "  for (var i = 0; i < buttons.length; i++) {" +
+        "    if (!isAdd(buttons[i]) || buttons[i].closest(cardSel) || buttons[i].closest('[role=dialog]')) continue;" +
+        "    var c = buttons[i].parentElement;" +
+        "    while (c && c !== document.body && c.textContent.indexOf('\\u20b9') < 0) c = c.parentElement;" +
+        "    if (c && c !== document.body && list.indexOf(c) < 0) list.push(c);" +
+        "  }" +
+        "  return list;" +
+        "};" +
+        "var sectionOf = function(card) {" +
+        "  var heads = document.querySelectorAll(\"h2, h3[class*='category' i], [data-testid*='category' i] > h3\"), name = '';" +
+        "  for (var i = 0; i < heads.length; i++) {" +
+        "    if (heads[i].compareDocumentPosition(card) & Node.DOCUMENT_POSITION_FOLLOWING) name = norm(heads[i].textContent);" +
+        "    else break;" +
+        "  }" +
+        "  return name;" +
+        "};" +
+        "var read = function(card) {" +
+        "  var handle = card.getAttribute('data-menu-handle');" +
+        "  if (!handle) { handle = String(++window.__swgMenuSeq); card.setAttribute('data-menu-handle', handle); }" +
+        "  if (found.has(handle)) return;" +
+        "  var nameEl = card.querySelector(\"[class*='dish-name' i], [class*='itemName' i], [data-testid*='name' i], h3, h4\");" +
+        "  var lines = (card.innerText || '').split('\\n').map(norm).filter(Boolean);" +
+        "  var name = nameEl ? norm(nameEl.textContent) : (lines[0] || '');" +
+        "  var price = /\\u20b9\\s*([\\d,]+)/.exec(card.textContent);" +
+        "  var mark = card.querySelector(\"[class*='veg' i], [aria-label*='veg' i], [data-testid*='veg' i]\"), veg = null;" +
+        "  if (mark) {" +
+        "    var m = ((mark.getAttribute('aria-label') || '') + ' ' + mark.className + ' ' + (mark.getAttribute('data-testid') || '')).toLowerCase();" +
+        "    veg = !/non[-_ ]?veg/.test(m);" +
+        "  }" +
+        "  if (name) found.set(handle, {handle: handle, name: name, section: sectionOf(card)," +
+        "                               price: price ? parseInt(price[1].replace(/,/g, ''), 10) : -1, veg: veg});" +
+        "};" +
+        "var expand = function() {" +
+        "  var closed = document.querySelectorAll(\"[aria-expanded='false']\");" +
+        "  for (var i = 0; i < closed.length; i++) {" +
+        "    var h = closed[i];" +
+        "    if (h.closest('header, nav, [role=dialog]')) continue;" +
+        "    if (/menu|category|accordion|section/i.test((h.className || '') + ' ' + (h.getAttribute('data-testid') || '') + ' ' + (h.parentElement ? h.parentElement.className : ''))) h.click();" +
+        "  }" +
+        "};" +
+        "var step = function() {" +
+        "  expand();" +
+        "  cards().forEach(read);" +
+        "  var height = document.documentElement.scrollHeight;" +
+        "  var atBottom = window.innerHeight + window.scrollY >= height - 2;" +
+        "  stable = atBottom && height === lastHeight ? stable + 1 : 0;" +
+        "  lastHeight = height;" +
+        "  if (stable >= 2 || Date.now() - start > budget) {" +
+        "    window.scrollTo(0, startY);" +
+        "    done(Array.from(found.values()));" +
+        "    return;" +
+        "  }" +
+        "  window.scrollBy(0, Math.max(200, window.innerHeight * 0.8));" +
+        "  setTimeout(step, pause);" +
+        "};" +
+        "window.scrollTo(0, 0);" +
+        "step();";
+
+    private static final long STEP_PAUSE_MS = 150;
+
+    private final List<MenuItem> items;
+    private final Map<String, MenuItem> byName = new HashMap<>();
+    private final long elapsedMillis;
+
+    private MenuIndex(List<MenuItem> items, long elapsedMillis) {
+        this.items = items;
+        this.elapsedMillis = elapsedMillis;
+        for (MenuItem item : items) {
+            // First occurrence wins, as on the page (Recommended repeats dishes of later sections)
+            byName.putIfAbsent(key(item.getName()), item);
+        }
+    }
+
+    /**
+     * Reads every dish of the menu in the browser, scrolling through lazily rendered sections for at most
+     * {@code budgetMs}. Returns an empty index when the page shows no menu.
+     */
+    public static MenuIndex build(WebDriver driver, long budgetMs) {
+        long start = System.currentTimeMillis();
+        List<MenuItem> items = new ArrayList<>();
+        Duration scriptTimeout = null;
+        try {
+            // Raised only for this call; other async scripts keep the driver's own limit
+            scriptTimeout = driver.manage().timeouts().getScriptTimeout();
+            driver.manage().timeouts().scriptTimeout(Duration.ofMillis(budgetMs + 5000));
+            List<?> rows = (List<?>) ((JavascriptExecutor) driver).executeAsyncScript(
+                INDEX_SCRIPT, CARD_SELECTOR, budgetMs, STEP_PAUSE_MS);
+            for (Object o : rows) {
+                Map<?, ?> row = (Map<?, ?>) o;
+                items.add(new MenuItem((String) row.get("handle"), items.size(), (String) row.get("name"),
+                    (String) row.get("section"), ((Number) row.get("price")).intValue(), (Boolean) row.get("veg")));
+            }
+        } catch (Exception e) {
+            System.out.println("   ⚠️ Menu index unavailable: " + e.getMessage());
+        } finally {
+            if (scriptTimeout != null) {
+                try {
+                    driver.manage().timeouts().scriptTimeout(scriptTimeout);
+                } catch (Exception ignored) {}
+            }
+        }
+        return new MenuIndex(items, System.currentTimeMillis() - start);
+    }
+
+    /** Dish with exactly this name (case and whitespace ignored); otherwise the first whose name contains it. */
+    public MenuItem find(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return null;
+        }
+        MenuItem item = byName.get(key(name));
+        if (item != null) {
+            return item;
+        }
+        String wanted = key(name);
+        for (MenuItem candidate : items) {
+            if (key(candidate.getName()).contains(wanted)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /** Dishes in menu order */
+    public List<MenuItem> getItems() {
+        return Collections.unmodifiableList(items);
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * The ADD button of {@code item}'s card, or null when the card has left the page or the dish is already
+     * in the cart (quantity stepper instead of ADD).
+     */
+    public WebElement addButton(WebDriver driver, MenuItem item) {
+        List<WebElement> buttons = driver.findElements(By.cssSelector("[data-menu-handle='" + item.getHandle() + "'] button"));
+        for (WebElement button : buttons) {
+            String text = button.getText().trim().toLowerCase(Locale.ROOT);
+            if (text.startsWith("add") || text.endsWith("add")) {
+                return button;
+            }
+        }
+        return null;
+    }
+
+    private static String key(String name) {
+        return name.replaceAll("\\s+", " ").trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,41 @@
+package org.example;
+
+/**
+ * One dish from a restaurant menu, as read by {@link MenuIndex}. The handle is stamped on the dish card
+ * as {@code data-menu-handle} and stays valid while the card stays in the page.
+ */
+public class MenuItem {
+
+    private final String handle;
+    private final int position;
+    private final String name;
+    private final String section;
+    private final int price;
+    private final Boolean veg;
+
+    MenuItem(String handle, int position, String name, String section, int price, Boolean veg) {
+        this.handle = handle;
+        this.position = position;
+        this.name = name;
+        this.section = section;
+        this.price = price;
+        this.veg = veg;
+    }
+
+    public String getHandle() { return handle; }
+    /** 0-based order in the menu, top to bottom */
+    public int getPosition() { return position; }
+    public String getName() { return name; }
+    /** Menu section (category) heading above the dish, empty when there is none */
+    public String getSection() { return section; }
+    /** Rupees, -1 when not shown */
+    public int getPrice() { return price; }
+    /** True for veg, false for non-veg, null when the card has no marker */
+    public Boolean getVeg() { return veg; }
+
+    @Override
+    public String toString() {
+        return name + (price >= 0 ? " ₹" + price : "") + (veg == null ? "" : veg ? " (veg)" : " (non-veg)")
+            + (section.isEmpty() ? "" : " in " + section);
+    }
+}
@@ -0,0 +1,170 @@
+package org.example;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Offline stand-in for swiggy.com served from recorded fixtures on the classpath (mock-site/).
+ * The pages keep the DOM shapes the automation selectors target: login modal, location picker,
+ * restaurant listing, menu, cart, address form and payment page. Point {@code site.base.url}
+ * at {@link #getBaseUrl()} to run the whole flow against localhost.
+ */
+public class MockSwiggySite {
+
+    private static final String FIXTURE_ROOT = "mock-site/";
+
+    // Page routes; everything under /restaurants/<slug> is a menu page
+    private static final Map<String, String> PAGES = new HashMap<>();
+    static {
+        PAGES.put("/", "index.html");
+        PAGES.put("/auth", "auth.html");
+        PAGES.put("/order-online-near-me", "listing.html");
+        PAGES.put("/restaurants", "listing.html");
+        PAGES.put("/checkout", "checkout.html");
+        PAGES.put("/payment", "payment.html");
+        PAGES.put("/api/restaurants", "restaurants.json");
+        PAGES.put("/api/locations", "locations.json");
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "mock-swiggy-http");
+        t.setDaemon(true);
+        return t;
+    });
+    // Fixtures are read once; requests are then served from memory
+    private final Map<String, byte[]> fixtures = new HashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+
+    private MockSwiggySite(int port) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(executor);
+    }
+
+    /** Starts the site on {@code port} (0 picks a free port). */
+    public static MockSwiggySite start(int port) throws IOException {
+        MockSwiggySite site = new MockSwiggySite(port);
+        site.server.start();
+        System.out.println("   ✓ Mock Swiggy site serving " + site.getBaseUrl());
+        return site;
+    }
+
+    /**
+     * Starts the site when {@code mock.site.enabled} is set and points {@code site.base.url} at it.
+     * @return the running site, or null when the live site is used
+     */
+    public static MockSwiggySite startIfEnabled(Properties config) throws IOException {
+        if (!Boolean.parseBoolean(config.getProperty("mock.site.enabled", "false"))) {
+            return null;
+        }
+        MockSwiggySite site = start(Integer.parseInt(config.getProperty("mock.site.port", "8089")));
+        config.setProperty("site.base.url", site.getBaseUrl());
+        return site;
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+        System.out.println("   ✓ Mock Swiggy site stopped after " + requests.get() + " requests");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            String path = exchange.getRequestURI().getPath();
+            String name = route(path);
+            byte[] body = name != null ? fixture(name) : null;
+            if (body == null) {
+                body = fixture("404.html");
+                send(exchange, 404, "text/html; charset=utf-8", body != null ? body : new byte[0]);
+                return;
+            }
+            // Scripts and styles may be cached by a warm browser; pages and API data never are
+            exchange.getResponseHeaders().set("Cache-Control", name.startsWith("static/") ? "max-age=3600" : "no-store");
+            send(exchange, 200, contentType(name), body);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static String route(String path) {
+        if (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        String page = PAGES.get(path);
+        if (page != null) {
+            return page;
+        }
+        if (path.startsWith("/restaurants/")) {
+            return "menu.html";
+        }
+        if (path.startsWith("/static/") && !path.contains("..")) {
+            return path.substring(1);
+        }
+        return null;
+    }
+
+    private byte[] fixture(String name) throws IOException {
+        synchronized (fixtures) {
+            if (fixtures.containsKey(name)) {
+                return fixtures.get(name);
+            }
+            byte[] data = null;
+            try (InputStream in = MockSwiggySite.class.getClassLoader().getResourceAsStream(FIXTURE_ROOT + name)) {
+                if (in != null) {
+                    data = in.readAllBytes();
+                }
+            }
+            fixtures.put(name, data);
+            return data;
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String type, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", type);
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static String contentType(String name) {
+        if (name.endsWith(".html")) return "text/html; charset=utf-8";
+        if (name.endsWith(".js")) return "application/javascript; charset=utf-8";
+        if (name.endsWith(".css")) return "text/css; charset=utf-8";
+        if (name.endsWith(".json")) return "application/json; charset=utf-8";
+        if (name.endsWith(".svg")) return "image/svg+xml";
+        return "application/octet-stream";
+    }
+
+    /** Serves the mock site until the JVM is stopped: {@code MockSwiggySite [port]}. */
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8089;
+        MockSwiggySite site = start(port);
+        Runtime.getRuntime().addShutdownHook(new Thread(site::stop));
+        System.out.println("Set site.base.url=" + site.getBaseUrl() + " in config.properties (Ctrl+C to stop)");
+        Thread.currentThread().join();
+    }
+}
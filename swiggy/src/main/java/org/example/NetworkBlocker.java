@@ -0,0 +1,194 @@
+package org.example;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drops requests the automation never needs (images, fonts, analytics) through the Chrome DevTools protocol:
+ * URL patterns via Network.setBlockedURLs, resource types via Fetch interception at the request stage.
+ * Counts blocked requests per resource type and the bytes actually transferred, and estimates the bytes saved
+ * from the average size of same-type responses that did load. Raw CDP method names are used so the
+ * blocker does not depend on one Chrome version's generated DevTools classes.
+ */
+public class NetworkBlocker {
+
+    // Typical transfer sizes, used when no response of that type loaded to measure against
+    private static final Map<String, Long> TYPICAL_BYTES = new HashMap<>();
+    static {
+        TYPICAL_BYTES.put("Image", 40_000L);
+        TYPICAL_BYTES.put("Media", 500_000L);
+        TYPICAL_BYTES.put("Font", 30_000L);
+        TYPICAL_BYTES.put("Script", 50_000L);
+        TYPICAL_BYTES.put("Stylesheet", 20_000L);
+    }
+    private static final long TYPICAL_OTHER_BYTES = 5_000L;
+
+    private final DevTools devTools;
+    private final List<String> blockedTypes;
+    private final List<String> blockedUrls;
+
+    private final Map<String, String> typeByRequest = new ConcurrentHashMap<>();
+    // Per resource type: [blocked requests, loaded responses, loaded bytes]
+    private final Map<String, AtomicLong[]> byType = new ConcurrentHashMap<>();
+
+    private NetworkBlocker(DevTools devTools, List<String> blockedTypes, List<String> blockedUrls) {
+        this.devTools = devTools;
+        this.blockedTypes = blockedTypes;
+        this.blockedUrls = blockedUrls;
+    }
+
+    /**
+     * Starts blocking on {@code driver} when {@code network.block.enabled} is set.
+     * @param driver the undecorated Chrome driver
+     * @return the attached blocker, or null when disabled or the browser has no DevTools
+     */
+    public static NetworkBlocker attach(WebDriver driver, Properties config) {
+        if (!Boolean.parseBoolean(config.getProperty("network.block.enabled", "false")) || !(driver instanceof HasDevTools)) {
+            return null;
+        }
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            NetworkBlocker blocker = new NetworkBlocker(devTools,
+                split(config.getProperty("network.block.types", "Image,Media,Font")),
+                split(config.getProperty("network.block.urls", "")));
+            blocker.start();
+            return blocker;
+        } catch (Exception e) {
+            System.out.println("   ⚠️ Network blocking unavailable: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void start() {
+        devTools.addListener(event("Network.responseReceived"), p ->
+            typeByRequest.put((String) p.get("requestId"), String.valueOf(p.get("type"))));
+        devTools.addListener(event("Network.loadingFinished"), p -> {
+            String type = typeByRequest.remove((String) p.get("requestId"));
+            if (type != null) {
+                AtomicLong[] counters = counters(type);
+                counters[1].incrementAndGet();
+                counters[2].addAndGet(((Number) p.get("encodedDataLength")).longValue());
+            }
+        });
+        // setBlockedURLs failures carry blockedReason=inspector; Fetch failures are counted where they happen
+        devTools.addListener(event("Network.loadingFailed"), p -> {
+            typeByRequest.remove((String) p.get("requestId"));
+            if ("inspector".equals(p.get("blockedReason"))) {
+                counters(String.valueOf(p.get("type")))[0].incrementAndGet();
+            }
+        });
+        devTools.addListener(event("Fetch.requestPaused"), p -> {
+            counters(String.valueOf(p.get("resourceType")))[0].incrementAndGet();
+            Map<String, Object> params = new HashMap<>();
+            params.put("requestId", p.get("requestId"));
+            params.put("errorReason", "BlockedByClient");
+            devTools.send(new Command<>("Fetch.failRequest", params));
+        });
+
+        devTools.send(new Command<>("Network.enable", Collections.emptyMap()));
+        devTools.send(new Command<>("Network.setBlockedURLs", Collections.singletonMap("urls", blockedUrls)));
+        if (!blockedTypes.isEmpty()) {
+            // Only the blocked types are paused at all, so every paused request is failed
+            List<Map<String, Object>> patterns = new ArrayList<>();
+            for (String type : blockedTypes) {
+                Map<String, Object> pattern = new HashMap<>();
+                pattern.put("urlPattern", "*");
+                pattern.put("resourceType", type);
+                pattern.put("requestStage", "Request");
+                patterns.add(pattern);
+            }
+            devTools.send(new Command<>("Fetch.enable", Collections.singletonMap("patterns", patterns)));
+        }
+        System.out.println("   ✓ Network blocking on: types " + blockedTypes + ", " + blockedUrls.size() + " URL patterns");
+    }
+
+    /** Stops blocking so the next flow leasing this browser starts unfiltered. */
+    public void detach() {
+        try {
+            devTools.clearListeners();
+            if (!blockedTypes.isEmpty()) {
+                devTools.send(new Command<>("Fetch.disable", Collections.emptyMap()));
+            }
+            devTools.send(new Command<>("Network.setBlockedURLs", Collections.singletonMap("urls", Collections.emptyList())));
+            devTools.send(new Command<>("Network.disable", Collections.emptyMap()));
+        } catch (Exception e) {
+            // Browser already gone
+        }
+    }
+
+    public long getBlockedRequests() {
+        long total = 0;
+        for (AtomicLong[] c : byType.values()) {
+            total += c[0].get();
+        }
+        return total;
+    }
+
+    public long getTransferredBytes() {
+        long total = 0;
+        for (AtomicLong[] c : byType.values()) {
+            total += c[2].get();
+        }
+        return total;
+    }
+
+    /** Blocked requests times the average loaded size of their type (or a typical size when none loaded). */
+    public long getEstimatedSavedBytes() {
+        long total = 0;
+        for (Map.Entry<String, AtomicLong[]> e : byType.entrySet()) {
+            total += e.getValue()[0].get() * averageBytes(e.getKey(), e.getValue());
+        }
+        return total;
+    }
+
+    public void printSummary(String flowName) {
+        System.out.println("\n=== NETWORK BLOCKING (" + flowName + ") ===");
+        System.out.println(String.format("%-14s %8s %8s %14s %14s", "Type", "Blocked", "Loaded", "Loaded(KB)", "Saved~(KB)"));
+        for (Map.Entry<String, AtomicLong[]> e : new TreeMap<>(byType).entrySet()) {
+            AtomicLong[] c = e.getValue();
+            System.out.println(String.format("%-14s %8d %8d %14.1f %14.1f", e.getKey(), c[0].get(), c[1].get(),
+                c[2].get() / 1024.0, c[0].get() * averageBytes(e.getKey(), c) / 1024.0));
+        }
+        System.out.println(String.format("%-14s %8d %8s %14.1f %14.1f", "TOTAL", getBlockedRequests(), "",
+            getTransferredBytes() / 1024.0, getEstimatedSavedBytes() / 1024.0));
+        System.out.println("===================");
+    }
+
+    private static long averageBytes(String type, AtomicLong[] c) {
+        return c[1].get() > 0 ? c[2].get() / c[1].get() : TYPICAL_BYTES.getOrDefault(type, TYPICAL_OTHER_BYTES);
+    }
+
+    private AtomicLong[] counters(String type) {
+        return byType.computeIfAbsent(type, k -> new AtomicLong[] { new AtomicLong(), new AtomicLong(), new AtomicLong() });
+    }
+
+    // Untyped CDP event: parameters as a plain map
+    private static Event<Map<String, Object>> event(String method) {
+        return new Event<>(method, input -> input.read(Json.MAP_TYPE));
+    }
+
+    private static List<String> split(String list) {
+        List<String> values = new ArrayList<>();
+        for (String value : list.split(",")) {
+            if (!value.trim().isEmpty()) {
+                values.add(value.trim());
+            }
+        }
+        return values;
+    }
+}
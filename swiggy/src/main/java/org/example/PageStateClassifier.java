@@ -0,0 +1,135 @@
+package org.example;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+
+/**
+ * Fingerprints the current page in a single executeScript round trip, so the flow can branch on where the
+ * browser is instead of probing with one XPath lookup after another. Overlays win over the page beneath
+ * them (a login modal on the listing is LOGIN_MODAL); the remaining signals are the URL path, landmark
+ * elements and the number of restaurant cards and ADD buttons.
+ */
+public class PageStateClassifier {
+
+    public enum State {
+        HOME, LOGIN_MODAL, LOCATION_PICKER, LISTING, MENU, CART, ADDRESS_FORM, PAYMENT, UNKNOWN
+    }
+
+    public static class Snapshot {
+        private final State state;
+        private final String url;
+        private final String title;
+        private final long restaurantCards;
+        private final long addButtons;
+        private final boolean dineout;
+        private final WebElement orderOnlineTab;
+        private final boolean orderOnlineActive;
+        private final long elapsedMillis;
+
+        Snapshot(State state, String url, String title, long restaurantCards, long addButtons, boolean dineout,
+                 WebElement orderOnlineTab, boolean orderOnlineActive, long elapsedMillis) {
+            this.state = state;
+            this.url = url;
+            this.title = title;
+            this.restaurantCards = restaurantCards;
+            this.addButtons = addButtons;
+            this.dineout = dineout;
+            this.orderOnlineTab = orderOnlineTab;
+            this.orderOnlineActive = orderOnlineActive;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public State getState() { return state; }
+        public String getUrl() { return url; }
+        public String getTitle() { return title; }
+        public long getRestaurantCards() { return restaurantCards; }
+        public long getAddButtons() { return addButtons; }
+        /** Dineout URL or an active Dineout tab */
+        public boolean isDineout() { return dineout; }
+        /** Visible "Order Online" tab, or null when the page has none */
+        public WebElement getOrderOnlineTab() { return orderOnlineTab; }
+        public boolean isOrderOnlineActive() { return orderOnlineActive; }
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        public boolean is(State expected) {
+            return state == expected;
+        }
+
+        @Override
+        public String toString() {
+            return state + " (" + restaurantCards + " cards, " + addButtons + " ADD buttons"
+                + (dineout ? ", dineout" : "") + ", classified in " + elapsedMillis + " ms)";
+        }
+    }
+
+    // Returns {state, url, title, cards, adds, dineout, tab, tabActive}
+    private static final String CLASSIFY_SCRIPT =
+        "var visible = function(el) {" +
+        "  if (!el || !el.getClientRects().length) return false;" +
+        "  var cs = window.getComputedStyle(el);" +
+        "  return cs.visibility !== 'hidden' && cs.display !== 'none';" +
+        "};" +
+        "var any = function(sel) {" +
+        "  var nodes = document.querySelectorAll(sel);" +
+        "  for (var i = 0; i < nodes.length; i++) { if (visible(nodes[i])) return true; }" +
+        "  return false;" +
+        "};" +
+        "var lower = function(s) { return (s || '').replace(/\\s+/g, ' ').trim().toLowerCase(); };" +
+        "var path = location.pathname.toLowerCase();" +
+        "var cards = 0, links = document.querySelectorAll(\"[data-testid='restaurant-card'], a[href*='/restaurants/']\");" +
+        "for (var i = 0; i < links.length; i++) { if (visible(links[i])) cards++; }" +
+        "var adds = 0, buttons = document.querySelectorAll('button');" +
+        "var tab = null, tabActive = false, dineoutActive = false;" +
+        "var active = function(el) {" +
+        "  return /(^|[\\s_-])(active|selected)/i.test(el.className || '') || el.getAttribute('aria-selected') === 'true'" +
+        "      || el.getAttribute('aria-pressed') === 'true';" +
+        "};" +
+        "for (var i = 0; i < buttons.length; i++) {" +
+        "  var b = buttons[i], t = lower(b.textContent);" +
+        "  if (!visible(b)) continue;" +
+        "  if (t === 'add' || t === 'add +' || t === '+ add') adds++;" +
+        "  else if (t === 'order online' && !tab) { tab = b; tabActive = active(b); }" +
+        "  else if (t === 'dineout' && active(b)) dineoutActive = true;" +
+        "}" +
+        "if (!tab) {" +
+        "  var tabs = document.querySelectorAll('a, div[role=tab], [role=tab]');" +
+        "  for (var i = 0; i < tabs.length && !tab; i++) {" +
+        "    if (lower(tabs[i].textContent) === 'order online' && visible(tabs[i])) { tab = tabs[i]; tabActive = active(tabs[i]); }" +
+        "  }" +
+        "}" +
+        "var body = lower(document.body ? document.body.innerText.slice(0, 4000) : '');" +
+        "var state = 'UNKNOWN';" +
+        "if (any(\"input[type='tel'], input[autocomplete='one-time-code'], .login-panel\")) state = 'LOGIN_MODAL';" +
+        "else if (path.indexOf('/payment') === 0 || path.indexOf('/pay') === 0 || body.indexOf('payment options') >= 0) state = 'PAYMENT';" +
+        "else if (any(\"input[name='address'], input[placeholder*='Door'], input[placeholder*='Flat'], .address-form\")) state = 'ADDRESS_FORM';" +
+        "else if (path.indexOf('/checkout') === 0 || path.indexOf('/cart') === 0) state = 'CART';" +
+        "else if (/^\\/restaurants?\\/./.test(path) || (adds > 0 && any(\"[data-testid='restaurant-name']\"))) state = 'MENU';" +
+        "else if (cards > 0 && (path.indexOf('/restaurants') === 0 || path.indexOf('/order-online') === 0 || path.indexOf('/city') === 0" +
+        "    || path === '/' || path.indexOf('/dineout') === 0)) state = 'LISTING';" +
+        "else if (any(\"input[placeholder*='delivery location'], input[placeholder*='location'], input[placeholder*='area']\")) state = 'LOCATION_PICKER';" +
+        "else if (path === '/' || path === '') state = 'HOME';" +
+        "var dineout = path.indexOf('dineout') >= 0 || path.indexOf('dine-out') >= 0 || dineoutActive;" +
+        "return [state, location.href, document.title, cards, adds, dineout, tab, tabActive];";
+
+    /** Classifies the page currently loaded in {@code driver}; UNKNOWN when the script cannot run. */
+    public static Snapshot classify(WebDriver driver) {
+        long start = System.currentTimeMillis();
+        try {
+            List<?> r = (List<?>) ((JavascriptExecutor) driver).executeScript(CLASSIFY_SCRIPT);
+            return new Snapshot(State.valueOf((String) r.get(0)), (String) r.get(1), (String) r.get(2),
+                ((Number) r.get(3)).longValue(), ((Number) r.get(4)).longValue(), Boolean.TRUE.equals(r.get(5)),
+                (WebElement) r.get(6), Boolean.TRUE.equals(r.get(7)), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            String url = "";
+            String title = "";
+            try {
+                url = driver.getCurrentUrl();
+                title = driver.getTitle();
+            } catch (Exception ignored) {}
+            return new Snapshot(State.UNKNOWN, url, title, 0, 0, false, null, false, System.currentTimeMillis() - start);
+        }
+    }
+}
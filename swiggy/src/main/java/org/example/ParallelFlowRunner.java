@@ -0,0 +1,118 @@
+package org.example;
+
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs many independent order flows at once on a bounded executor.
+ * Each flow leases its own browser from a pool sized to the parallelism, so flows share no WebDriver state.
+ */
+public class ParallelFlowRunner {
+
+    /** One complete order flow against the browser in {@code ctx}; returns true if it reached the end. */
+    public interface Flow {
+        boolean run(FlowContext ctx) throws Exception;
+    }
+
+    private final Properties config;
+    private final SelectorStats selectorStats;
+    private final SessionVault sessionVault;
+    private final Supplier<WebDriver> browserFactory;
+    private final int parallelism;
+    private final Duration leaseTimeout;
+
+    public ParallelFlowRunner(Properties config, SelectorStats selectorStats, SessionVault sessionVault,
+                              Supplier<WebDriver> browserFactory) {
+        this.config = config;
+        this.selectorStats = selectorStats;
+        this.sessionVault = sessionVault;
+        this.browserFactory = browserFactory;
+        // Default to one browser per core; each Chrome keeps roughly a core busy while a flow runs
+        this.parallelism = Integer.parseInt(config.getProperty("flow.parallelism",
+            String.valueOf(Runtime.getRuntime().availableProcessors())));
+        this.leaseTimeout = Duration.ofSeconds(
+            Long.parseLong(config.getProperty("driver.pool.lease.timeout.seconds", "120")));
+    }
+
+    /** @return true if every flow reached the end */
+    public boolean run(int flowCount, Flow flow) throws InterruptedException {
+        int threads = Math.max(1, Math.min(parallelism, flowCount));
+        System.out.println("🚀 Running " + flowCount + " flows on " + threads + " threads");
+
+        List<FlowContext> contexts = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger passed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        long start = System.currentTimeMillis();
+
+        DriverPool pool = new DriverPool(threads, browserFactory);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < flowCount; i++) {
+                futures.add(executor.submit(() -> {
+                    WebDriver driver = pool.lease(leaseTimeout);
+                    FlowContext ctx = null;
+                    try {
+                        ctx = new FlowContext(driver, config, selectorStats, sessionVault);
+                        contexts.add(ctx);
+                        if (flow.run(ctx)) {
+                            passed.incrementAndGet();
+                        } else {
+                            failed.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                        System.out.println("   ❌ " + (ctx != null ? ctx.getName() : "Flow") + " failed: " + e.getMessage());
+                    } finally {
+                        pool.release(driver);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    // Flow never got a browser
+                    failed.incrementAndGet();
+                    System.out.println("   ❌ Flow could not start: " + e.getCause().getMessage());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+            pool.printMetrics();
+            pool.shutdown();
+        }
+        long elapsed = System.currentTimeMillis() - start;
+
+        // Per-flow reports are printed afterwards so concurrent flows do not interleave their tables
+        List<FlowContext> finished = new ArrayList<>(contexts);
+        finished.sort(Comparator.comparingInt(FlowContext::getId));
+        for (FlowContext ctx : finished) {
+            System.out.println("\n--- " + ctx.getName() + " ---");
+            ctx.getReport().printWaitSavings();
+            ctx.getReport().printSummary();
+            ctx.getReport().printCommandTrace();
+        }
+
+        System.out.println("\n=== PARALLEL RUN ===");
+        System.out.println("Flows:        " + flowCount + " (" + passed.get() + " passed, " + failed.get() + " failed)");
+        System.out.println("Threads:      " + threads);
+        System.out.println("Wall time:    " + elapsed + " ms");
+        System.out.println(String.format("Throughput:   %.2f flows/min", elapsed == 0 ? 0.0 : flowCount * 60000.0 / elapsed));
+        System.out.println("====================");
+        return failed.get() == 0;
+    }
+}
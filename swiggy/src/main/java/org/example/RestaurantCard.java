@@ -0,0 +1,52 @@
+package org.example;
+
+import org.openqa.selenium.WebElement;
+
+/**
+ * One restaurant card from the listing, as read by {@link ListingExtractor}.
+ * Numbers the card does not show are -1; the link is only needed for the final click.
+ */
+public class RestaurantCard {
+
+    private final int position;
+    private final String name;
+    private final String url;
+    private final double rating;
+    private final int etaMinutes;
+    private final int costForTwo;
+    private final WebElement link;
+
+    RestaurantCard(int position, String name, String url, double rating, int etaMinutes, int costForTwo, WebElement link) {
+        this.position = position;
+        this.name = name;
+        this.url = url;
+        this.rating = rating;
+        this.etaMinutes = etaMinutes;
+        this.costForTwo = costForTwo;
+        this.link = link;
+    }
+
+    /** 0-based order of the card among the visible cards, top to bottom */
+    public int getPosition() { return position; }
+    public String getName() { return name; }
+    public String getUrl() { return url; }
+    /** Star rating, -1 when the card shows none (new restaurants) */
+    public double getRating() { return rating; }
+    /** Lower bound of the delivery time range in minutes, -1 when not shown */
+    public int getEtaMinutes() { return etaMinutes; }
+    /** Rupees, -1 when not shown */
+    public int getCostForTwo() { return costForTwo; }
+    public WebElement getLink() { return link; }
+
+    public boolean nameContains(String text) {
+        return text != null && name.toLowerCase().contains(text.trim().toLowerCase());
+    }
+
+    @Override
+    public String toString() {
+        return "#" + (position + 1) + " " + name
+            + (rating >= 0 ? " ★" + rating : "")
+            + (etaMinutes >= 0 ? ", " + etaMinutes + " min" : "")
+            + (costForTwo >= 0 ? ", ₹" + costForTwo + " for two" : "");
+    }
+}
@@ -0,0 +1,331 @@
+package org.example;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-step record of a single automation run.
+ * Tracks each step's wall time, time spent waiting for the page (compared with the fixed sleep it
+ * replaced), time spent in WebDriver commands and its outcome.
+ */
+public class RunReport {
+
+    /** Body of a step without a result. */
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    /** Body of a step that produces a result. */
+    public interface Call<T> {
+        T call() throws Exception;
+    }
+
+    /** Told about a failed step while the page is still in its failed state, before the exception propagates. */
+    public interface FailureListener {
+        void stepFailed(StepRecord step, Exception error);
+    }
+
+    // Upper bounds (ms) of the command latency histogram buckets; the last bucket is open-ended
+    private static final long[] LATENCY_BUCKETS_MS = { 5, 10, 25, 50, 100, 250, 500, 1000 };
+
+    public static class StepRecord {
+        private final String name;
+        private int waits;
+        private long budgetMs;
+        private long waitedMs;
+        private final long startedAt = System.currentTimeMillis();
+        private long endedAt;
+        private long driverNanos;
+        private String outcome = "ok";
+        private String error;
+        private int roundTrips;
+        // command -> {count, total nanos, max nanos}
+        private final Map<String, long[]> commands = new LinkedHashMap<>();
+        private final long[] latencyHistogram = new long[LATENCY_BUCKETS_MS.length + 1];
+
+        StepRecord(String name) {
+            this.name = name;
+        }
+
+        public String getName() { return name; }
+        public int getWaits() { return waits; }
+        public long getBudgetMs() { return budgetMs; }
+        public long getWaitedMs() { return waitedMs; }
+        public long getSavedMs() { return Math.max(0, budgetMs - waitedMs); }
+        public long getElapsedMs() { return (endedAt > 0 ? endedAt : System.currentTimeMillis()) - startedAt; }
+        /** WebDriver command time outside page waits, so wall = waited + driver + other. */
+        public long getDriverMs() { return driverNanos / 1_000_000; }
+        public long getOtherMs() { return Math.max(0, getElapsedMs() - waitedMs - getDriverMs()); }
+        public String getOutcome() { return outcome; }
+        public String getError() { return error; }
+        public int getRoundTrips() { return roundTrips; }
+        public Map<String, long[]> getCommands() { return commands; }
+        public long[] getLatencyHistogram() { return latencyHistogram; }
+    }
+
+    private final List<StepRecord> steps = new ArrayList<>();
+    private final Map<String, String> attributes = new LinkedHashMap<>();
+    private final long startedAt = System.currentTimeMillis();
+    private StepRecord current = new StepRecord("setup");
+    private boolean waiting;
+    private FailureListener failureListener;
+
+    public RunReport() {
+        steps.add(current);
+    }
+
+    public void beginStep(String name) {
+        current.endedAt = System.currentTimeMillis();
+        current = new StepRecord(name);
+        steps.add(current);
+    }
+
+    public void setFailureListener(FailureListener listener) {
+        this.failureListener = listener;
+    }
+
+    /** Runs {@code action} as step {@code name}, recording its timing and whether it threw. */
+    public void step(String name, Action action) throws Exception {
+        stepWithResult(name, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public <T> T stepWithResult(String name, Call<T> call) throws Exception {
+        beginStep(name);
+        try {
+            return call.call();
+        } catch (Exception e) {
+            current.outcome = "failed";
+            current.error = e.getMessage();
+            if (failureListener != null) {
+                failureListener.stepFailed(current, e);
+            }
+            throw e;
+        } finally {
+            current.endedAt = System.currentTimeMillis();
+        }
+    }
+
+    /** Marks the start of a page wait; WebDriver calls made while waiting count as wait time. */
+    public void beginWait() {
+        waiting = true;
+    }
+
+    public void recordWait(long budgetMs, long waitedMs) {
+        waiting = false;
+        current.waits++;
+        current.budgetMs += budgetMs;
+        current.waitedMs += waitedMs;
+    }
+
+    /** Charges one WebDriver command (a browser round trip) to the current step. */
+    public void recordDriverCall(String command, long nanos) {
+        if (!waiting) {
+            current.driverNanos += nanos;
+        }
+        // Round trips made while polling during a wait still count; they are what makes a step chatty
+        current.roundTrips++;
+        long[] stats = current.commands.computeIfAbsent(command, c -> new long[3]);
+        stats[0]++;
+        stats[1] += nanos;
+        stats[2] = Math.max(stats[2], nanos);
+        long ms = nanos / 1_000_000;
+        int bucket = 0;
+        while (bucket < LATENCY_BUCKETS_MS.length && ms >= LATENCY_BUCKETS_MS[bucket]) {
+            bucket++;
+        }
+        current.latencyHistogram[bucket]++;
+    }
+
+    /** Run-level facts shown in the summary and stored with the run record, e.g. the restaurant chosen. */
+    public void put(String key, String value) {
+        attributes.put(key, value);
+    }
+
+    public List<StepRecord> getSteps() {
+        return steps;
+    }
+
+    public void printWaitSavings() {
+        System.out.println("\n=== WAIT SAVINGS PER STEP ===");
+        System.out.println(String.format("%-22s %6s %11s %11s %11s", "Step", "Waits", "Budget(ms)", "Waited(ms)", "Saved(ms)"));
+        long budget = 0, waited = 0, saved = 0;
+        for (StepRecord s : steps) {
+            if (s.waits == 0) continue;
+            System.out.println(String.format("%-22s %6d %11d %11d %11d",
+                s.name, s.waits, s.budgetMs, s.waitedMs, s.getSavedMs()));
+            budget += s.budgetMs;
+            waited += s.waitedMs;
+            saved += s.getSavedMs();
+        }
+        System.out.println(String.format("%-22s %6s %11d %11d %11d", "TOTAL", "", budget, waited, saved));
+        System.out.println("=============================");
+    }
+
+    /** Closes the current step so its elapsed time stops growing. */
+    public void finish() {
+        if (current.endedAt == 0) {
+            current.endedAt = System.currentTimeMillis();
+        }
+    }
+
+    /** Summary table of the run: attributes, then wall/wait/driver/other time and outcome per step. */
+    public void printSummary() {
+        System.out.println("\n=== RUN SUMMARY ===");
+        for (Map.Entry<String, String> a : attributes.entrySet()) {
+            System.out.println(String.format("%-22s %s", a.getKey() + ":", a.getValue()));
+        }
+        System.out.println(String.format("%-22s %-8s %9s %9s %9s %9s", "Step", "Outcome", "Wall(ms)", "Wait(ms)", "Driver(ms)", "Other(ms)"));
+        long wall = 0, waited = 0, driver = 0, other = 0;
+        for (StepRecord s : steps) {
+            System.out.println(String.format("%-22s %-8s %9d %9d %9d %9d",
+                s.name, s.outcome, s.getElapsedMs(), s.waitedMs, s.getDriverMs(), s.getOtherMs()));
+            wall += s.getElapsedMs();
+            waited += s.waitedMs;
+            driver += s.getDriverMs();
+            other += s.getOtherMs();
+        }
+        System.out.println(String.format("%-22s %-8s %9d %9d %9d %9d", "TOTAL", "", wall, waited, driver, other));
+        System.out.println("===================");
+    }
+
+    /** Writes the run as {@code <runId>.json} and {@code <runId>.csv} into {@code dir}. */
+    public void writeRecords(Path dir, String runId) {
+        try {
+            Files.createDirectories(dir);
+
+            List<Map<String, Object>> stepMaps = new ArrayList<>();
+            StringBuilder csv = new StringBuilder("run,step,outcome,started_at,wall_ms,wait_ms,driver_ms,other_ms,waits,budget_ms,error\n");
+            for (StepRecord s : steps) {
+                Map<String, Object> m = new LinkedHashMap<>();
+                m.put("step", s.name);
+                m.put("outcome", s.outcome);
+                m.put("startedAt", s.startedAt);
+                m.put("wallMs", s.getElapsedMs());
+                m.put("waitMs", s.waitedMs);
+                m.put("driverMs", s.getDriverMs());
+                m.put("otherMs", s.getOtherMs());
+                m.put("waits", s.waits);
+                m.put("budgetMs", s.budgetMs);
+                m.put("error", s.error);
+                m.put("roundTrips", s.roundTrips);
+                Map<String, Object> commandMaps = new LinkedHashMap<>();
+                for (Map.Entry<String, long[]> c : s.commands.entrySet()) {
+                    Map<String, Object> cm = new LinkedHashMap<>();
+                    cm.put("count", c.getValue()[0]);
+                    cm.put("totalMs", c.getValue()[1] / 1_000_000.0);
+                    cm.put("maxMs", c.getValue()[2] / 1_000_000.0);
+                    commandMaps.put(c.getKey(), cm);
+                }
+                m.put("commands", commandMaps);
+                Map<String, Object> histogram = new LinkedHashMap<>();
+                for (int i = 0; i < s.latencyHistogram.length; i++) {
+                    histogram.put(bucketLabel(i), s.latencyHistogram[i]);
+                }
+                m.put("latencyHistogram", histogram);
+                stepMaps.add(m);
+                csv.append(String.join(",", runId, s.name, s.outcome, String.valueOf(s.startedAt),
+                    String.valueOf(s.getElapsedMs()), String.valueOf(s.waitedMs), String.valueOf(s.getDriverMs()),
+                    String.valueOf(s.getOtherMs()), String.valueOf(s.waits), String.valueOf(s.budgetMs),
+                    s.error == null ? "" : "\"" + s.error.replace("\"", "\"\"").replace('\n', ' ') + "\""))
+                    .append('\n');
+            }
+            Map<String, Object> record = new LinkedHashMap<>();
+            record.put("run", runId);
+            record.put("startedAt", startedAt);
+            record.put("attributes", attributes);
+            record.put("steps", stepMaps);
+
+            Files.write(dir.resolve(runId + ".json"), new Json().toJson(record).getBytes(StandardCharsets.UTF_8));
+            Files.write(dir.resolve(runId + ".csv"), csv.toString().getBytes(StandardCharsets.UTF_8));
+            System.out.println("   📊 Run record written to " + dir.resolve(runId + ".json"));
+        } catch (IOException e) {
+            System.out.println("   ⚠️ Could not write run record: " + e.getMessage());
+        }
+    }
+
+    /** Per-step round trips, latency histogram and the busiest commands, so chatty steps stand out. */
+    public void printCommandTrace() {
+        System.out.println("\n=== WEBDRIVER ROUND TRIPS PER STEP ===");
+        StringBuilder header = new StringBuilder(String.format("%-22s %7s", "Step", "Calls"));
+        for (int i = 0; i < LATENCY_BUCKETS_MS.length + 1; i++) {
+            header.append(String.format(" %7s", bucketLabel(i)));
+        }
+        System.out.println(header + "  Top commands");
+        int total = 0;
+        for (StepRecord s : steps) {
+            if (s.roundTrips == 0) continue;
+            total += s.roundTrips;
+            StringBuilder row = new StringBuilder(String.format("%-22s %7d", s.name, s.roundTrips));
+            for (long n : s.latencyHistogram) {
+                row.append(String.format(" %7d", n));
+            }
+            List<Map.Entry<String, long[]>> top = new ArrayList<>(s.commands.entrySet());
+            top.sort(Comparator.comparingLong((Map.Entry<String, long[]> c) -> -c.getValue()[0]));
+            row.append(" ");
+            for (int i = 0; i < Math.min(3, top.size()); i++) {
+                long[] c = top.get(i).getValue();
+                row.append(String.format(" %s x%d (%.0f ms)", top.get(i).getKey(), c[0], c[1] / 1_000_000.0));
+            }
+            System.out.println(row);
+        }
+        System.out.println(String.format("%-22s %7d", "TOTAL", total));
+        System.out.println("======================================");
+    }
+
+    private static String bucketLabel(int bucket) {
+        return bucket < LATENCY_BUCKETS_MS.length ? "<" + LATENCY_BUCKETS_MS[bucket] + "ms" : ">=" + LATENCY_BUCKETS_MS[LATENCY_BUCKETS_MS.length - 1] + "ms";
+    }
+
+    private long elapsedOf(String step) {
+        long total = 0;
+        for (StepRecord s : steps) {
+            if (s.name.equals(step)) total += s.getElapsedMs();
+        }
+        return total;
+    }
+
+    /** Prints browser start and per-step wall time of several runs side by side, one column per run. */
+    public static void printComparison(List<String> labels, List<Long> browserStartMs, List<RunReport> reports) {
+        Set<String> stepNames = new LinkedHashSet<>();
+        for (RunReport r : reports) {
+            for (StepRecord s : r.steps) stepNames.add(s.name);
+        }
+        StringBuilder header = new StringBuilder(String.format("%-22s", "Step (ms)"));
+        for (String label : labels) header.append(String.format(" %12s", label));
+        System.out.println("\n=== PROFILE COMPARISON ===");
+        System.out.println(header);
+
+        StringBuilder start = new StringBuilder(String.format("%-22s", "browser_start"));
+        for (Long ms : browserStartMs) start.append(String.format(" %12d", ms));
+        System.out.println(start);
+
+        long[] totals = new long[reports.size()];
+        for (String step : stepNames) {
+            StringBuilder row = new StringBuilder(String.format("%-22s", step));
+            for (int i = 0; i < reports.size(); i++) {
+                long ms = reports.get(i).elapsedOf(step);
+                totals[i] += ms;
+                row.append(String.format(" %12d", ms));
+            }
+            System.out.println(row);
+        }
+        StringBuilder total = new StringBuilder(String.format("%-22s", "TOTAL"));
+        for (int i = 0; i < totals.length; i++) total.append(String.format(" %12d", totals[i] + browserStartMs.get(i)));
+        System.out.println(total);
+        System.out.println("==========================");
+    }
+}
@@ -0,0 +1,233 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Writes captured PNG bytes to disk on a background thread so screenshot I/O stays off the flow's
+ * critical path. The queue is bounded: when it is full, {@link #submit} blocks until the writer catches
+ * up, and that backpressure is counted. Pending frames are flushed before the JVM exits.
+ * When an {@link ArtifactStore} is configured frames are appended to it instead of loose PNG files.
+ */
+public class ScreenshotWriter {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static ScreenshotWriter shared;
+
+    private static class Frame {
+        final Path path;
+        final String run;
+        final String step;
+        final String type;
+        final byte[] png;
+
+        Frame(Path path, String run, String step, String type, byte[] png) {
+            this.path = path;
+            this.run = run;
+            this.step = step;
+            this.type = type;
+            this.png = png;
+        }
+    }
+
+    // Marks the end of the queue on close
+    private static final Frame STOP = new Frame(null, null, null, null, null);
+
+    private final BlockingQueue<Frame> queue;
+    private final int capacity;
+    private final Thread writer;
+    private final ArtifactStore store;
+    // Submits share it and close takes it alone, so no frame can be queued behind STOP
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private boolean closed;
+
+    // Metrics
+    private long submitted;
+    private long written;
+    private long failed;
+    private long bytesWritten;
+    private long writeMs;
+    private int maxDepth;
+    private long backpressureEvents;
+    private long backpressureMs;
+
+    private ScreenshotWriter(int capacity, ArtifactStore store) {
+        this.capacity = capacity;
+        this.store = store;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writer = new Thread(this::drain, "screenshot-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "screenshot-writer-flush"));
+    }
+
+    /**
+     * Sets up the shared writer; only effective before the first screenshot.
+     * @param store opens the artifact store to append to (or returns null to write loose files); called only
+     *              when the writer is actually created, so repeated calls (batch scenarios) open nothing
+     */
+    public static synchronized void configure(int capacity, Supplier<ArtifactStore> store) {
+        if (shared == null) {
+            shared = new ScreenshotWriter(Math.max(1, capacity), store != null ? store.get() : null);
+        }
+    }
+
+    public static synchronized ScreenshotWriter shared() {
+        if (shared == null) {
+            shared = new ScreenshotWriter(DEFAULT_CAPACITY, null);
+        }
+        return shared;
+    }
+
+    /** Queues {@code png} to be written to {@code path}; blocks only while the queue is full. */
+    public void submit(Path path, byte[] png) throws InterruptedException {
+        String name = path.getFileName().toString();
+        submit(path, "default", name.endsWith(".png") ? name.substring(0, name.length() - 4) : name, "png", png);
+    }
+
+    /**
+     * Queues an artifact. It goes to {@code path} as a file, or into the artifact store
+     * under run and step when one is configured.
+     */
+    public void submit(Path path, String run, String step, String type, byte[] data) throws InterruptedException {
+        Frame frame = new Frame(path, run, step, type, data);
+        closeLock.readLock().lock();
+        try {
+            if (!closed) {
+                enqueue(frame);
+                return;
+            }
+        } finally {
+            closeLock.readLock().unlock();
+        }
+        // Late frame during shutdown: write inline rather than lose it
+        synchronized (this) {
+            submitted++;
+        }
+        write(frame);
+    }
+
+    private void enqueue(Frame frame) throws InterruptedException {
+        if (!queue.offer(frame)) {
+            long start = System.currentTimeMillis();
+            queue.put(frame);
+            synchronized (this) {
+                backpressureEvents++;
+                backpressureMs += System.currentTimeMillis() - start;
+            }
+        }
+        synchronized (this) {
+            submitted++;
+            maxDepth = Math.max(maxDepth, queue.size());
+        }
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                Frame frame = queue.take();
+                if (frame == STOP) {
+                    return;
+                }
+                write(frame);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Bytes go straight to the destination: no driver temp file, no second copy
+    private void write(Frame frame) {
+        long start = System.currentTimeMillis();
+        try {
+            if (store != null) {
+                store.append(frame.run, frame.step, frame.type, frame.png);
+            } else {
+                Path parent = frame.path.toAbsolutePath().getParent();
+                Files.createDirectories(parent);
+                Files.write(frame.path, frame.png);
+            }
+            synchronized (this) {
+                written++;
+                bytesWritten += frame.png.length;
+                writeMs += System.currentTimeMillis() - start;
+            }
+        } catch (IOException | RuntimeException e) {
+            // Counted and skipped: the drain thread must outlive a bad frame or submit would block for good
+            synchronized (this) {
+                failed++;
+            }
+            System.out.println("   ⚠️ Error writing screenshot " + frame.path + ": " + e.getMessage());
+        }
+    }
+
+    /** Waits until every queued frame is on disk, up to the timeout. */
+    public boolean flush(long timeoutMs) {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (System.currentTimeMillis() < deadline) {
+            synchronized (this) {
+                if (written + failed >= submitted) {
+                    return true;
+                }
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /** Stops accepting frames and writes everything still queued. Runs from the shutdown hook too. */
+    public void close() {
+        closeLock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.put(STOP);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+            if (store != null) {
+                store.close();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.out.println("   ⚠️ Error closing artifact store: " + e.getMessage());
+        }
+    }
+
+    /** True when artifacts go to an {@link ArtifactStore} rather than loose files. */
+    public boolean isPacked() { return store != null; }
+
+    public synchronized int getQueueDepth() { return queue.size(); }
+    public synchronized int getMaxQueueDepth() { return maxDepth; }
+    public synchronized long getBackpressureEvents() { return backpressureEvents; }
+
+    public synchronized void printMetrics() {
+        System.out.println("\n=== SCREENSHOT WRITER ===");
+        System.out.println("Frames:             " + submitted + " queued, " + written + " written, " + failed + " failed");
+        System.out.println("Bytes written:      " + bytesWritten);
+        System.out.println(String.format("Write time (ms):    avg %.1f", written == 0 ? 0.0 : (double) writeMs / written));
+        System.out.println("Queue depth:        " + queue.size() + " now, " + maxDepth + " max of " + capacity);
+        System.out.println("Backpressure:       " + backpressureEvents + " blocked submits, " + backpressureMs + " ms blocked");
+        System.out.println("=========================");
+    }
+}
@@ -0,0 +1,163 @@
+package org.example;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Resolves an ordered list of fallback selectors in a single executeScript round trip.
+ * Selectors starting with "/", "(" or "./" are evaluated as XPath, everything else as CSS.
+ * The browser returns the first visible match together with the index of the selector that produced it.
+ * The race methods poll the whole list under one shared deadline instead of waiting on each selector in turn.
+ * Overloads taking a {@link SelectorStats} try the historically best selector first and record the outcome.
+ */
+public class SelectorCascade {
+
+    public static class Match {
+        private final WebElement element;
+        private final int index;
+        private final String selector;
+        private final long elapsedMillis;
+
+        Match(WebElement element, int index, String selector, long elapsedMillis) {
+            this.element = element;
+            this.index = index;
+            this.selector = selector;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public WebElement getElement() { return element; }
+        public int getIndex() { return index; }
+        public String getSelector() { return selector; }
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        @Override
+        public String toString() {
+            return "selector #" + (index + 1) + " after " + elapsedMillis + " ms: " + selector;
+        }
+    }
+
+    private static final Duration RACE_POLL_INTERVAL = Duration.ofMillis(100);
+
+    private static final String CASCADE_SCRIPT =
+        "var sels = arguments[0], root = arguments[1] || document, needEnabled = arguments[2], needVisible = arguments[3];" +
+        "var visible = function(el) {" +
+        "  if (!el.getClientRects().length) return false;" +
+        "  var cs = window.getComputedStyle(el);" +
+        "  return cs.visibility !== 'hidden' && cs.display !== 'none';" +
+        "};" +
+        "var enabled = function(el) { return !el.disabled && el.getAttribute('aria-disabled') !== 'true'; };" +
+        "for (var i = 0; i < sels.length; i++) {" +
+        "  var s = sels[i], nodes = [];" +
+        "  try {" +
+        "    if (s.charAt(0) === '/' || s.charAt(0) === '(' || s.indexOf('./') === 0) {" +
+        "      var r = document.evaluate(s, root, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+        "      for (var j = 0; j < r.snapshotLength; j++) nodes.push(r.snapshotItem(j));" +
+        "    } else {" +
+        "      nodes = root.querySelectorAll(s);" +
+        "    }" +
+        "  } catch (e) { continue; }" +
+        "  for (var k = 0; k < nodes.length; k++) {" +
+        "    var el = nodes[k];" +
+        "    if (el.nodeType === 1 && (!needVisible || visible(el)) && (!needEnabled || enabled(el))) return [el, i];" +
+        "  }" +
+        "}" +
+        "return null;";
+
+    /** First visible match across the selectors, or null. */
+    public static Match resolve(WebDriver driver, String... selectors) {
+        return resolve(driver, null, false, selectors);
+    }
+
+    /** First visible and enabled match across the selectors, or null. */
+    public static Match resolveEnabled(WebDriver driver, String... selectors) {
+        return resolve(driver, null, true, selectors);
+    }
+
+    /** First visible and enabled match, with relative XPaths and CSS evaluated under {@code root}. */
+    public static Match resolveWithin(WebDriver driver, WebElement root, String... selectors) {
+        return resolve(driver, root, true, selectors);
+    }
+
+    /** First element present in the DOM (visible or not) across the selectors, or null. */
+    public static Match resolvePresent(WebDriver driver, String... selectors) {
+        return resolve(driver, null, false, false, selectors);
+    }
+
+    /**
+     * Polls all selectors together until one yields a visible, enabled match or the shared deadline passes.
+     * When several match in the same poll the earliest selector in the list wins.
+     * @return the winning match with its elapsed time, or null on timeout
+     */
+    public static Match race(WebDriver driver, Duration timeout, String... selectors) {
+        return race(driver, timeout, true, selectors);
+    }
+
+    public static Match resolve(WebDriver driver, SelectorStats stats, String step, String... selectors) {
+        return ranked(stats, step, selectors, ordered -> resolve(driver, ordered));
+    }
+
+    public static Match resolveEnabled(WebDriver driver, SelectorStats stats, String step, String... selectors) {
+        return ranked(stats, step, selectors, ordered -> resolveEnabled(driver, ordered));
+    }
+
+    public static Match resolveWithin(WebDriver driver, SelectorStats stats, String step, WebElement root, String... selectors) {
+        return ranked(stats, step, selectors, ordered -> resolveWithin(driver, root, ordered));
+    }
+
+    public static Match race(WebDriver driver, SelectorStats stats, String step, Duration timeout, String... selectors) {
+        return ranked(stats, step, selectors, ordered -> race(driver, timeout, ordered));
+    }
+
+    private static Match ranked(SelectorStats stats, String step, String[] selectors, Function<String[], Match> lookup) {
+        if (stats == null) {
+            return lookup.apply(selectors);
+        }
+        String[] ordered = stats.order(step, selectors);
+        Match match = lookup.apply(ordered);
+        stats.recordCascade(step, ordered, match);
+        return match;
+    }
+
+    private static Match race(WebDriver driver, Duration timeout, boolean requireVisible, String... selectors) {
+        long start = System.currentTimeMillis();
+        try {
+            Match match = new WebDriverWait(driver, timeout, RACE_POLL_INTERVAL)
+                .until(d -> resolve(d, null, requireVisible, requireVisible, selectors));
+            return new Match(match.element, match.index, match.selector, System.currentTimeMillis() - start);
+        } catch (TimeoutException e) {
+            return null;
+        }
+    }
+
+    static Match resolve(WebDriver driver, WebElement root, boolean requireEnabled, String... selectors) {
+        return resolve(driver, root, requireEnabled, true, selectors);
+    }
+
+    private static Match resolve(WebDriver driver, WebElement root, boolean requireEnabled,
+                                 boolean requireVisible, String... selectors) {
+        if (selectors == null || selectors.length == 0) {
+            return null;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            Object result = ((JavascriptExecutor) driver).executeScript(
+                CASCADE_SCRIPT, Arrays.asList(selectors), root, requireEnabled, requireVisible);
+            if (!(result instanceof List)) {
+                return null;
+            }
+            List<?> pair = (List<?>) result;
+            int index = ((Number) pair.get(1)).intValue();
+            return new Match((WebElement) pair.get(0), index, selectors[index], System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
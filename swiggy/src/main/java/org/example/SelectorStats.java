@@ -0,0 +1,126 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Hit-rate and latency statistics for fallback selectors, persisted between runs.
+ * Entries are keyed by step and selector; fallback chains are reordered so the selector
+ * most likely to match quickly is tried first.
+ */
+public class SelectorStats {
+
+    // Weight given to history when folding in a new observation, so recent runs dominate
+    private static final double DECAY = 0.8;
+    private static final double PRIOR_SUCCESS_RATE = 0.5;
+
+    private final Path file;
+    private final Properties store = new Properties();
+    private boolean dirty;
+
+    private SelectorStats(Path file) {
+        this.file = file;
+    }
+
+    public static SelectorStats load(String path) {
+        SelectorStats stats = new SelectorStats(Paths.get(path));
+        if (Files.exists(stats.file)) {
+            try (InputStream in = Files.newInputStream(stats.file)) {
+                stats.store.load(in);
+            } catch (IOException e) {
+                System.out.println("   ⚠️ Could not read selector stats, starting fresh: " + e.getMessage());
+            }
+        }
+        return stats;
+    }
+
+    /** Returns a copy of {@code selectors} ordered by recent success rate, then latency, then source order. */
+    public synchronized String[] order(String step, String[] selectors) {
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < selectors.length; i++) {
+            indexes.add(i);
+        }
+        indexes.sort(Comparator
+            .comparingDouble((Integer i) -> -read(step, selectors[i])[0])
+            .thenComparingDouble(i -> read(step, selectors[i])[1])
+            .thenComparingInt(i -> i));
+
+        String[] ordered = new String[selectors.length];
+        for (int i = 0; i < ordered.length; i++) {
+            ordered[i] = selectors[indexes.get(i)];
+        }
+        return ordered;
+    }
+
+    public synchronized void record(String step, String selector, boolean hit, long latencyMs) {
+        double[] entry = read(step, selector);
+        double rate = DECAY * entry[0] + (1 - DECAY) * (hit ? 1 : 0);
+        double latency = entry[1];
+        if (hit) {
+            latency = latency < Double.MAX_VALUE ? DECAY * latency + (1 - DECAY) * latencyMs : latencyMs;
+        }
+        store.setProperty(key(step, selector), String.format(Locale.ROOT, "%.4f,%.1f,%d",
+            rate, latency < Double.MAX_VALUE ? latency : -1, (long) entry[2] + 1));
+        dirty = true;
+    }
+
+    /** Records the outcome of a cascade: selectors ahead of the winner missed, the winner hit. */
+    public synchronized void recordCascade(String step, String[] ordered, SelectorCascade.Match match) {
+        int tried = match != null ? match.getIndex() : ordered.length;
+        for (int i = 0; i < tried; i++) {
+            record(step, ordered[i], false, 0);
+        }
+        if (match != null) {
+            record(step, match.getSelector(), true, match.getElapsedMillis());
+        }
+    }
+
+    public synchronized void save() {
+        if (!dirty) {
+            return;
+        }
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, "selector-stats", ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                store.store(out, "Selector hit-rate cache: step|selector=successRate,latencyMs,samples");
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            dirty = false;
+        } catch (IOException e) {
+            System.out.println("   ⚠️ Could not save selector stats: " + e.getMessage());
+        }
+    }
+
+    // [successRate, latencyMs, samples]; unseen selectors get the prior and sort after known-fast ones
+    private double[] read(String step, String selector) {
+        String value = store.getProperty(key(step, selector));
+        if (value == null) {
+            return new double[] { PRIOR_SUCCESS_RATE, Double.MAX_VALUE, 0 };
+        }
+        try {
+            String[] parts = value.split(",");
+            double latency = Double.parseDouble(parts[1]);
+            return new double[] {
+                Double.parseDouble(parts[0]), latency < 0 ? Double.MAX_VALUE : latency, Double.parseDouble(parts[2])
+            };
+        } catch (Exception e) {
+            return new double[] { PRIOR_SUCCESS_RATE, Double.MAX_VALUE, 0 };
+        }
+    }
+
+    private static String key(String step, String selector) {
+        return step + "|" + selector;
+    }
+}
@@ -0,0 +1,219 @@
+package org.example;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Saves a logged-in browser session (cookies, localStorage and sessionStorage) to disk
+ * and restores it into new drivers so the manual OTP login only has to happen once.
+ * <p>
+ * One of two identical copies, in swiggy (org.example) and in swiggyautomate (default package); swiggyautomate
+ * is a standalone test module that does not depend on swiggy. Change both together.
+ */
+public class SessionVault {
+
+    // Cookie the site sets once the OTP is accepted. It may be httpOnly, so it is read through WebDriver
+    private static final String AUTH_COOKIE = "_session_tid";
+
+    // Visible sign-in controls mean the session is not (or no longer) authenticated. Texts are compared
+    // lower-cased with whitespace collapsed, so "Sign In", "Sign in" and "SIGN IN" all match.
+    // Returns [sign-in marker visible, account/profile control visible], or null (page not rendered yet)
+    private static final String LOGIN_STATE_SCRIPT =
+        "if (document.readyState !== 'complete' || !document.body) return null;" +
+        "var texts = {'sign in': 1, 'signin': 1, 'login': 1, 'log in': 1};" +
+        "var visible = function(el) {" +
+        "  if (!el || !el.getClientRects().length) return false;" +
+        "  var cs = window.getComputedStyle(el);" +
+        "  return cs.visibility !== 'hidden' && cs.display !== 'none';" +
+        "};" +
+        "var any = function(nodes) { for (var i = 0; i < nodes.length; i++) { if (visible(nodes[i])) return true; } return false; };" +
+        "var account = any(document.querySelectorAll(\"[data-testid='account'], [data-testid*='profile' i], " +
+        "a[href*='/my-account'], a[href*='/profile']\"));" +
+        "if (any(document.querySelectorAll(\"input[type='tel'], input[autocomplete='one-time-code']\"))) return [true, account];" +
+        "var walker = document.createTreeWalker(document.body, NodeFilter.SHOW_TEXT), n;" +
+        "while ((n = walker.nextNode())) {" +
+        "  if (texts[n.data.replace(/\\s+/g, ' ').trim().toLowerCase()] && visible(n.parentElement)) return [true, account];" +
+        "}" +
+        "return [false, account];";
+
+    private static final String READ_STORAGE_SCRIPT =
+        "var read = function(s) { var o = {}; for (var i = 0; i < s.length; i++) { var k = s.key(i); o[k] = s.getItem(k); } return o; };" +
+        "return {local: read(window.localStorage), session: read(window.sessionStorage)};";
+
+    private static final String WRITE_STORAGE_SCRIPT =
+        "var write = function(s, o) { for (var k in o) { s.setItem(k, o[k]); } };" +
+        "write(window.localStorage, arguments[0] || {}); write(window.sessionStorage, arguments[1] || {});";
+
+    private final Path file;
+    private final Duration maxAge;
+    private final Json json = new Json();
+
+    public SessionVault(String path, Duration maxAge) {
+        this.file = Paths.get(path);
+        this.maxAge = maxAge;
+    }
+
+    /** Saves the session of {@code driver}; a page that does not look logged in is not saved. */
+    public void save(WebDriver driver) {
+        if (!isLoggedIn(driver)) {
+            System.out.println("   ⚠️ Not saving the session: the page does not show a logged-in account");
+            return;
+        }
+        try {
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("savedAt", System.currentTimeMillis());
+            snapshot.put("url", driver.getCurrentUrl());
+
+            List<Map<String, Object>> cookies = new ArrayList<>();
+            for (Cookie c : driver.manage().getCookies()) {
+                Map<String, Object> cookie = new LinkedHashMap<>();
+                cookie.put("name", c.getName());
+                cookie.put("value", c.getValue());
+                cookie.put("domain", c.getDomain());
+                cookie.put("path", c.getPath());
+                cookie.put("expiry", c.getExpiry() != null ? c.getExpiry().getTime() : null);
+                cookie.put("secure", c.isSecure());
+                cookie.put("httpOnly", c.isHttpOnly());
+                cookie.put("sameSite", c.getSameSite());
+                cookies.add(cookie);
+            }
+            snapshot.put("cookies", cookies);
+
+            Map<?, ?> storage = (Map<?, ?>) ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT);
+            snapshot.put("localStorage", storage.get("local"));
+            snapshot.put("sessionStorage", storage.get("session"));
+
+            // Write then move, so parallel flows never read a half-written snapshot
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, "swiggy-session", ".tmp");
+            Files.write(tmp, json.toJson(snapshot).getBytes(StandardCharsets.UTF_8));
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("   💾 Session saved (" + cookies.size() + " cookies) to " + file);
+        } catch (Exception e) {
+            System.out.println("   ⚠️ Could not save session: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Restores the saved session into {@code driver} and checks that it is still logged in.
+     * @return true only if a fresh snapshot was applied and the site then looks logged in (see {@link #isLoggedIn})
+     */
+    public boolean restore(WebDriver driver, String baseUrl) {
+        if (!Files.exists(file)) {
+            return false;
+        }
+        try {
+            Map<String, Object> snapshot = json.toType(
+                new String(Files.readAllBytes(file), StandardCharsets.UTF_8), Json.MAP_TYPE);
+
+            long savedAt = ((Number) snapshot.get("savedAt")).longValue();
+            if (System.currentTimeMillis() - savedAt > maxAge.toMillis()) {
+                System.out.println("   ℹ️ Saved session is older than " + maxAge.toHours() + "h, ignoring it");
+                return false;
+            }
+
+            // Cookies and storage can only be written for the origin currently loaded
+            if (!driver.getCurrentUrl().startsWith(baseUrl)) {
+                driver.get(baseUrl);
+            }
+
+            int restored = 0;
+            for (Object o : (List<?>) snapshot.get("cookies")) {
+                Map<?, ?> c = (Map<?, ?>) o;
+                Number expiry = (Number) c.get("expiry");
+                if (expiry != null && expiry.longValue() < System.currentTimeMillis()) {
+                    continue;
+                }
+                Cookie.Builder builder = new Cookie.Builder((String) c.get("name"), (String) c.get("value"))
+                    .path((String) c.get("path"))
+                    .isSecure(Boolean.TRUE.equals(c.get("secure")))
+                    .isHttpOnly(Boolean.TRUE.equals(c.get("httpOnly")));
+                if (c.get("domain") != null) builder.domain((String) c.get("domain"));
+                if (expiry != null) builder.expiresOn(new Date(expiry.longValue()));
+                if (c.get("sameSite") != null) builder.sameSite((String) c.get("sameSite"));
+                try {
+                    driver.manage().addCookie(builder.build());
+                    restored++;
+                } catch (Exception e) {
+                    // Cookie for a different domain than the current page; skip it
+                }
+            }
+            if (restored == 0) {
+                return false;
+            }
+
+            ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT,
+                snapshot.get("localStorage"), snapshot.get("sessionStorage"));
+            driver.navigate().refresh();
+            DomQuiescence.awaitQuiet(driver, 500, 8000);
+
+            boolean valid = isLoggedIn(driver);
+            System.out.println(valid
+                ? "   ♻️ Restored saved session (" + restored + " cookies)"
+                : "   ℹ️ Saved session is no longer valid, falling back to OTP login");
+            return valid;
+        } catch (Exception e) {
+            System.out.println("   ⚠️ Could not restore session: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * True when the page has rendered, shows no sign-in link, phone input or OTP input, and positively
+     * shows a login: a visible account/profile control or the auth cookie. A page between states (modal
+     * closing, header not rendered yet) has neither and is not logged in. A page that cannot be checked
+     * (script error, navigation in progress, browser gone) is not logged in either.
+     */
+    public static boolean isLoggedIn(WebDriver driver) {
+        try {
+            Object state = ((JavascriptExecutor) driver).executeScript(LOGIN_STATE_SCRIPT);
+            if (!(state instanceof List) || !Boolean.FALSE.equals(((List<?>) state).get(0))) {
+                return false;
+            }
+            return Boolean.TRUE.equals(((List<?>) state).get(1)) || driver.manage().getCookieNamed(AUTH_COOKIE) != null;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /** Polls until the page looks logged in (e.g. after manual OTP entry) or the timeout passes. */
+    public static boolean awaitLogin(WebDriver driver, Duration timeout) {
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        while (System.currentTimeMillis() < deadline) {
+            if (isLoggedIn(driver)) {
+                return true;
+            }
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return isLoggedIn(driver);
+    }
+
+    public void invalidate() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.out.println("   ⚠️ Could not delete saved session: " + e.getMessage());
+        }
+    }
+}
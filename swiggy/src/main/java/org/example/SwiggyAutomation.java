@@ -1,17 +1,15 @@
 package org.example;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
-import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.*;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 
-import java.io.File;
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.List;
-import java.util.Scanner;
+import java.util.Properties;
 
 /**
  * Swiggy Automation Script
@@ -20,19 +18,39 @@ import java.util.Scanner;
  */
 public class SwiggyAutomation {
 
-    private static WebDriver driver;
-    private static WebDriverWait wait;
-    private static Scanner scanner;
+    private final FlowContext ctx;
+    private final WebDriver driver;
+    private final WebDriverWait wait;
+    private final String swiggyUrl;
+    private final String phoneNumber;
 
-    // Configuration
-    private static final String SWIGGY_URL = "https://www.swiggy.com/";
+    // Configuration (defaults; user.phone.number=... on the command line overrides the number)
     private static final String PHONE_NUMBER = "9508611922"; // Replace with your phone number
     private static final String CITY_NAME = "Bengaluru";
     private static final String RESTAURANT_NAME = "Domino's Pizza";
     private static final String DELIVERY_ADDRESS_FLAT = "123, Tech Park";
     private static final String DELIVERY_ADDRESS_LANDMARK = "Near Selenium Lake";
 
+    // Saved login session shared with SwiggyAutomationFixed
+    private static final SessionVault sessionVault =
+        new SessionVault("session/swiggy-session.json", Duration.ofHours(72));
+
+    public SwiggyAutomation(FlowContext ctx) {
+        this.ctx = ctx;
+        this.driver = ctx.getDriver();
+        this.wait = ctx.getWait();
+        this.swiggyUrl = ctx.getBaseUrl() + "/";
+        this.phoneNumber = ctx.getConfig().getProperty("user.phone.number", PHONE_NUMBER);
+    }
+
     public static void main(String[] args) {
+        // No config file here: arguments such as --batch or user.phone.number=... are the only inputs
+        Properties config = new Properties();
+        BatchMode.applyArgsOrExit(config, args);
+        boolean batch = BatchMode.isEnabled(config);
+        int exitCode = BatchMode.EXIT_SETUP_FAILED;
+        DriverPool driverPool = null;
+        SwiggyAutomation flow = null;
         try {
             System.out.println("=== SWIGGY AUTOMATION SCRIPT STARTED ===");
             System.out.println("This script will automate food ordering on Swiggy");
@@ -40,100 +58,146 @@ public class SwiggyAutomation {
             System.out.println("============================================\n");
 
             // Initialize
-            initializeWebDriver();
-            scanner = new Scanner(System.in);
+            driverPool = createDriverPool(config);
+            flow = initializeWebDriver(driverPool, config);
+            exitCode = BatchMode.EXIT_FLOW_FAILED;
+            if (flow.run()) {
+                exitCode = BatchMode.EXIT_OK;
+            }
 
-            // Step 1: Navigate to Swiggy
-            navigateToSwiggy();
+        } catch (Exception e) {
+            System.err.println("ERROR: " + e.getMessage());
+            e.printStackTrace();
+            if (flow != null) {
+                flow.takeScreenshot("error_screenshot.png");
+            }
+        } finally {
+            // Step 14: Teardown
+            cleanup(driverPool, flow, batch);
+        }
+        if (batch) {
+            System.exit(exitCode);
+        }
+    }
 
-            // Step 2: Login Process
-            performLogin();
+    /**
+     * Runs the ordering steps in this flow's browser
+     * @return true if the flow ended on the payment page
+     */
+    public boolean run() throws InterruptedException {
+        // Step 1: Navigate to Swiggy
+        navigateToSwiggy();
 
-            // Step 3: Validate Page Title and URL
-            validatePageTitleAndURL();
+        // Step 2: Login Process
+        performLogin();
 
-            // Step 4: Enter Delivery Location
-            enterDeliveryLocation();
+        // Step 3: Validate Page Title and URL
+        validatePageTitleAndURL();
 
-            // Step 5: Search for Restaurant
-            String selectedRestaurant = searchAndSelectRestaurant();
+        // Step 4: Enter Delivery Location
+        enterDeliveryLocation();
 
-            // Step 6: Select Food Item and Add to Cart
-            String selectedFoodItem = selectFoodItemAndAddToCart();
+        // Step 5: Search for Restaurant
+        String selectedRestaurant = searchAndSelectRestaurant();
 
-            // Step 7: Capture Screenshot 1 - Item Added
-            takeScreenshot("1_ItemAdded.png");
+        // Step 6: Select Food Item and Add to Cart
+        String selectedFoodItem = selectFoodItemAndAddToCart();
 
-            // Step 8: Increase Item Quantity
-            increaseItemQuantity();
+        // Step 7: Capture Screenshot 1 - Item Added
+        takeScreenshot("1_ItemAdded.png");
 
-            // Step 9: Log Cart Total and Capture Screenshot 2
-            logCartTotalAndTakeScreenshot();
+        // Step 8: Increase Item Quantity
+        increaseItemQuantity();
 
-            // Step 10: Add New Delivery Address
-            addDeliveryAddress();
+        // Step 9: Log Cart Total and Capture Screenshot 2
+        logCartTotalAndTakeScreenshot();
 
-            // Step 11: Capture Screenshot 3 - Address Entered
-            takeScreenshot("3_AddressEntered.png");
+        // Step 10: Add New Delivery Address
+        addDeliveryAddress();
 
-            // Step 12: Proceed to Payment Page
-            proceedToPaymentPage();
+        // Step 11: Capture Screenshot 3 - Address Entered
+        takeScreenshot("3_AddressEntered.png");
 
-            // Step 13: Final Validation and Screenshot 4
-            finalValidationAndScreenshot();
+        // Step 12: Proceed to Payment Page
+        proceedToPaymentPage();
 
-            // Print final summary
-            printFinalSummary(selectedRestaurant, selectedFoodItem);
+        // Step 13: Final Validation and Screenshot 4
+        finalValidationAndScreenshot();
 
-        } catch (Exception e) {
-            System.err.println("ERROR: " + e.getMessage());
-            e.printStackTrace();
-            takeScreenshot("error_screenshot.png");
-        } finally {
-            // Step 14: Teardown
-            cleanup();
+        // Print final summary
+        printFinalSummary(selectedRestaurant, selectedFoodItem);
+
+        // The steps log and carry on past their errors, so the outcome is the page the flow ended on
+        PageStateClassifier.Snapshot last = PageStateClassifier.classify(driver);
+        System.out.println("Final page state: " + last);
+        if (!last.is(PageStateClassifier.State.PAYMENT)) {
+            System.err.println("ERROR: Flow ended on " + last.getState() + " instead of the payment page");
+            return false;
         }
+        return true;
+    }
+
+    /**
+     * Browser pool with one pre-launched browser
+     */
+    private static DriverPool createDriverPool(Properties config) {
+        // Resolve chromedriver from the pinned local cache (drivers/manifest.properties)
+        DriverBinaryCache.resolveChromeDriver(config);
+
+        // Profile from -Dbrowser.profile or browser.profile=... (standard or throughput)
+        BrowserProfile profile = BrowserProfile.fromConfig(config);
+        return new DriverPool(1, () -> createChromeDriver(profile));
     }
 
     /**
      * Step 1: WebDriver Initialization and Initial Navigation
      */
-    private static void initializeWebDriver() {
+    private static SwiggyAutomation initializeWebDriver(DriverPool driverPool, Properties config) throws InterruptedException {
         System.out.println("1. Initializing WebDriver...");
 
-        // Set up Chrome browser using WebDriverManager
-        WebDriverManager.chromedriver().setup();
+        // Lease a pre-launched browser instead of starting a new one
+        WebDriver driver = driverPool.lease(Duration.ofMinutes(2));
+        DriverBinaryCache.logReady();
+
+        // The flow context creates the explicit wait instance
+        SwiggyAutomation flow = new SwiggyAutomation(new FlowContext(driver, config, null, sessionVault));
 
+        System.out.println("   ✓ WebDriver initialized successfully");
+        System.out.println("   ✓ Browser maximized");
+        System.out.println("   ✓ Timeouts configured\n");
+        return flow;
+    }
+
+    /**
+     * Browser factory for the driver pool
+     */
+    private static WebDriver createChromeDriver(BrowserProfile profile) {
         // Configure Chrome options
         ChromeOptions options = new ChromeOptions();
         options.addArguments("--disable-notifications");
         options.addArguments("--disable-popup-blocking");
-        options.addArguments("--start-maximized");
+        profile.applyTo(options);
 
         // Create ChromeDriver instance
-        driver = new ChromeDriver(options);
+        WebDriver chrome = new ChromeDriver(options);
 
-        // Maximize browser window
-        driver.manage().window().maximize();
+        // Maximize browser window (headless runs keep their fixed viewport)
+        if (!profile.isHeadless()) {
+            chrome.manage().window().maximize();
+        }
 
         // Set implicit wait of 10 seconds
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
-
-        // Create explicit wait instance
-        wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-
-        System.out.println("   ✓ WebDriver initialized successfully");
-        System.out.println("   ✓ Browser maximized");
-        System.out.println("   ✓ Timeouts configured\n");
+        chrome.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
+        return chrome;
     }
 
-    private static void navigateToSwiggy() {
+    private void navigateToSwiggy() {
         System.out.println("2. Navigating to Swiggy website...");
 
         // Navigate to Swiggy website
-        driver.get(SWIGGY_URL);
+        driver.get(swiggyUrl);
 
-        System.out.println("   ✓ Navigated to: " + SWIGGY_URL);
+        System.out.println("   ✓ Navigated to: " + swiggyUrl);
 
         // Wait for page to load
         try {
@@ -159,9 +223,15 @@ public class SwiggyAutomation {
     /**
      * Step 2: Login Process (with Manual OTP)
      */
-    private static void performLogin() throws InterruptedException {
+    private void performLogin() throws InterruptedException {
         System.out.println("3. Starting login process...");
 
+        // Skip the OTP login entirely when a saved session is still valid
+        if (sessionVault.restore(driver, swiggyUrl)) {
+            System.out.println("   ✓ Login process completed (saved session)\n");
+            return;
+        }
+
         // Locate and click the Login button
         WebElement loginButton = null;
         String[] loginSelectors = {
@@ -224,8 +294,8 @@ public class SwiggyAutomation {
 
         // Enter phone number
         phoneInput.clear();
-        phoneInput.sendKeys(PHONE_NUMBER);
-        System.out.println("   ✓ Phone number entered: " + PHONE_NUMBER);
+        phoneInput.sendKeys(phoneNumber);
+        System.out.println("   ✓ Phone number entered: " + phoneNumber);
 
         Thread.sleep(2000);
 
@@ -268,8 +338,10 @@ public class SwiggyAutomation {
         System.out.println("   ⌨️  Enter the OTP in the browser within 30 seconds");
         System.out.println("   ⏰ Script will resume automatically...");
 
-        // Wait 30 seconds for manual OTP entry
-        Thread.sleep(30000);
+        // Wait up to 30 seconds for manual OTP entry, resuming as soon as the login goes through
+        if (SessionVault.awaitLogin(driver, Duration.ofSeconds(30))) {
+            sessionVault.save(driver);
+        }
 
         System.out.println("   ✓ Login process completed\n");
     }
@@ -277,7 +349,7 @@ public class SwiggyAutomation {
     /**
      * Step 3: Validate Page Title and URL
      */
-    private static void validatePageTitleAndURL() {
+    private void validatePageTitleAndURL() {
         System.out.println("4. Validating page title and URL...");
 
         // Get current page title and URL
@@ -293,7 +365,7 @@ public class SwiggyAutomation {
     /**
      * Step 4: Enter Delivery Location
      */
-    private static void enterDeliveryLocation() throws InterruptedException {
+    private void enterDeliveryLocation() throws InterruptedException {
         System.out.println("5. Setting delivery location...");
 
         // Wait for page to stabilize after login
@@ -306,7 +378,7 @@ public class SwiggyAutomation {
         // If we're on dine-out page, navigate back to main delivery page
         if (currentUrl.contains("dineout") || currentUrl.contains("dine-out")) {
             System.out.println("   ⚠️  Detected dine-out page, navigating to delivery page...");
-            driver.get("https://www.swiggy.com/");
+            driver.get(swiggyUrl);
             Thread.sleep(5000);
             takeScreenshot("redirected_to_delivery.png");
         }
@@ -443,7 +515,7 @@ public class SwiggyAutomation {
     /**
      * Step 5: Search for Restaurant and Select It
      */
-    private static String searchAndSelectRestaurant() throws InterruptedException {
+    private String searchAndSelectRestaurant() throws InterruptedException {
         System.out.println("6. Searching for restaurant...");
 
         Thread.sleep(5000); // Longer wait for page stabilization
@@ -455,7 +527,7 @@ public class SwiggyAutomation {
         // If somehow we're on dine-out page, navigate back
         if (currentUrl.contains("dineout") || currentUrl.contains("dine-out")) {
             System.out.println("   ⚠️  Redirected to dine-out, going back to delivery page...");
-            driver.get("https://www.swiggy.com/");
+            driver.get(swiggyUrl);
             Thread.sleep(5000);
 
             // Re-enter location quickly
@@ -566,7 +638,7 @@ public class SwiggyAutomation {
     /**
      * Alternative method to select restaurant from homepage
      */
-    private static String selectRestaurantFromHomepage() throws InterruptedException {
+    private String selectRestaurantFromHomepage() throws InterruptedException {
         System.out.println("   🔍 Searching for restaurants on homepage...");
 
         // Scroll down to load more restaurants
@@ -676,7 +748,7 @@ public class SwiggyAutomation {
     /**
      * Select restaurant from search results
      */
-    private static String selectRestaurantFromResults() throws InterruptedException {
+    private String selectRestaurantFromResults() throws InterruptedException {
         String selectedRestaurantName = "";
         WebElement firstRestaurant = null;
         String[] restaurantSelectors = {
@@ -725,7 +797,7 @@ public class SwiggyAutomation {
     /**
      * Step 6: Select Food Item and Add to Cart
      */
-    private static String selectFoodItemAndAddToCart() throws InterruptedException {
+    private String selectFoodItemAndAddToCart() throws InterruptedException {
         System.out.println("7. Selecting food item and adding to cart...");
 
         // Wait for menu to load
@@ -815,7 +887,7 @@ public class SwiggyAutomation {
         return foodItemName;
     }
 
-    private static void clickViewCartButton() throws InterruptedException {
+    private void clickViewCartButton() throws InterruptedException {
         // Look for View Cart button
         String[] viewCartSelectors = {
             "//button[contains(text(),'View Cart')] | //div[contains(text(),'View Cart')]",
@@ -843,7 +915,7 @@ public class SwiggyAutomation {
     /**
      * Step 8: Increase Item Quantity in Cart
      */
-    private static void increaseItemQuantity() throws InterruptedException {
+    private void increaseItemQuantity() throws InterruptedException {
         System.out.println("8. Increasing item quantity...");
 
         Thread.sleep(3000);
@@ -886,7 +958,7 @@ public class SwiggyAutomation {
     /**
      * Step 9: Log Cart Total and Capture Screenshot 2
      */
-    private static void logCartTotalAndTakeScreenshot() {
+    private void logCartTotalAndTakeScreenshot() {
         System.out.println("9. Logging cart total...");
 
         // Find cart total element
@@ -925,7 +997,7 @@ public class SwiggyAutomation {
     /**
      * Step 10: Add New Delivery Address
      */
-    private static void addDeliveryAddress() throws InterruptedException {
+    private void addDeliveryAddress() throws InterruptedException {
         System.out.println("10. Adding delivery address...");
 
         // Click Proceed to Checkout button
@@ -989,7 +1061,7 @@ public class SwiggyAutomation {
         System.out.println("   ✓ Address addition completed\n");
     }
 
-    private static void fillAddressFields() throws InterruptedException {
+    private void fillAddressFields() throws InterruptedException {
         // Fill Door/Flat Number
         try {
             WebElement flatField = driver.findElement(By.xpath("//input[@placeholder*='flat'] | //input[@placeholder*='door'] | //input[@placeholder*='house']"));
@@ -1037,7 +1109,7 @@ public class SwiggyAutomation {
     /**
      * Step 12: Proceed to Payment Page
      */
-    private static void proceedToPaymentPage() throws InterruptedException {
+    private void proceedToPaymentPage() throws InterruptedException {
         System.out.println("11. Proceeding to payment page...");
 
         Thread.sleep(3000);
@@ -1077,7 +1149,7 @@ public class SwiggyAutomation {
     /**
      * Step 13: Final Validation and Screenshot 4
      */
-    private static void finalValidationAndScreenshot() throws InterruptedException {
+    private void finalValidationAndScreenshot() throws InterruptedException {
         System.out.println("12. Final validation and screenshot...");
 
         Thread.sleep(3000);
@@ -1119,18 +1191,11 @@ public class SwiggyAutomation {
     /**
      * Helper method to capture screenshots
      */
-    public static void takeScreenshot(String fileName) {
+    public void takeScreenshot(String fileName) {
         try {
-            // Create screenshots directory if it doesn't exist
-            File screenshotDir = new File("./screenshots/");
-            if (!screenshotDir.exists()) {
-                screenshotDir.mkdirs();
-            }
-
-            // Capture screenshot
-            File scrFile = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-            File destFile = new File("./screenshots/" + fileName);
-            FileUtils.copyFile(scrFile, destFile);
+            // Capture screenshot as bytes; the background writer creates ./screenshots/ and saves it
+            byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            ScreenshotWriter.shared().submit(Paths.get("./screenshots/" + fileName), png);
 
             System.out.println("   📸 Screenshot captured: " + fileName);
         } catch (Exception e) {
@@ -1141,9 +1206,9 @@ public class SwiggyAutomation {
     /**
      * Print final summary
      */
-    private static void printFinalSummary(String selectedRestaurant, String selectedFoodItem) {
+    private void printFinalSummary(String selectedRestaurant, String selectedFoodItem) {
         System.out.println("=== AUTOMATION EXECUTION SUMMARY ===");
-        System.out.println("📱 Phone Number Used: " + PHONE_NUMBER);
+        System.out.println("📱 Phone Number Used: " + phoneNumber);
         System.out.println("📍 Delivery Location: " + CITY_NAME);
         System.out.println("🍕 Selected Restaurant: " + selectedRestaurant);
         System.out.println("🍔 Selected Food Item: " + selectedFoodItem);
@@ -1160,23 +1225,27 @@ public class SwiggyAutomation {
     /**
      * Step 14: Cleanup and teardown
      */
-    private static void cleanup() {
+    private static void cleanup(DriverPool driverPool, SwiggyAutomation flow, boolean batch) {
         System.out.println("\n13. Performing cleanup...");
 
-        if (scanner != null) {
-            scanner.close();
+        // Wait a moment before closing (batch runs release the browser right away)
+        if (!batch) {
+            try {
+                Thread.sleep(3000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
         }
 
-        // Wait a moment before closing
-        try {
-            Thread.sleep(3000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        // Make sure queued screenshots are on disk
+        ScreenshotWriter.shared().flush(30000);
+        ScreenshotWriter.shared().printMetrics();
 
-        // Close browser
-        if (driver != null) {
-            driver.quit();
+        // Last use of the browser: quit it without a reset, then close the pool
+        if (driverPool != null) {
+            driverPool.discard(flow != null ? flow.driver : null);
+            driverPool.printMetrics();
+            driverPool.shutdown();
             System.out.println("   ✓ Browser closed");
         }
 
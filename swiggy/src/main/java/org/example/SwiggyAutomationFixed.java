@@ -1,27 +1,59 @@
 package org.example;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
-import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.*;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 
-import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.Properties;
 import java.util.Scanner;
 
 public class SwiggyAutomationFixed {
-    private static WebDriver driver;
-    private static WebDriverWait wait;
-    private static Scanner scanner;
-    private static Properties config;
-
+    private final FlowContext ctx;
+    private final WebDriver driver;
+    private final WebDriverWait wait;
+    private final Properties config;
+    private final RunReport report;
+    private final WaitStrategy waitStrategy;
+    private final long quietWindowMs;
+    private final SelectorStats selectorStats;
+    private final SessionVault sessionVault;
+    private final String baseUrl;
+    // Only set in failure-only screenshot mode
+    private final FrameRing frameRing;
+
+    // One warm browser for the whole JVM: batch scenarios after the first lease it instead of launching Chrome
+    private static DriverPool driverPool;
+
+    public SwiggyAutomationFixed(FlowContext ctx) {
+        this.ctx = ctx;
+        this.driver = ctx.getDriver();
+        this.wait = ctx.getWait();
+        this.config = ctx.getConfig();
+        this.report = ctx.getReport();
+        this.waitStrategy = WaitStrategy.fromConfig(config);
+        this.waitStrategy.prepare(driver, config);
+        this.quietWindowMs = Long.parseLong(config.getProperty("wait.quiet.window.ms", "500"));
+        this.selectorStats = ctx.getSelectorStats();
+        this.sessionVault = ctx.getSessionVault();
+        this.baseUrl = ctx.getBaseUrl();
+        this.frameRing = "failure".equals(config.getProperty("screenshot.mode", "always"))
+            ? new FrameRing(Integer.parseInt(config.getProperty("screenshot.ring.size", "10")))
+            : null;
+        this.report.setFailureListener(this::onStepFailed);
+    }
 
     public static void main(String[] args) {
         System.out.println("=== SWIGGY AUTOMATION SCRIPT (FIXED LOGIN) ===");
@@ -30,91 +62,298 @@ public class SwiggyAutomationFixed {
         System.out.println("✅ ENHANCED RESTAURANT SELECTION");
         System.out.println("===============================================\n");
 
+        Properties config = loadConfiguration();
+        BatchMode.applyArgsOrExit(config, args);
+        boolean batch = BatchMode.isEnabled(config);
+        int exitCode = BatchMode.EXIT_OK;
+        MockSwiggySite mockSite = null;
+        FaultProxy faultProxy = null;
         try {
-            loadConfiguration();
-            setupDriver();
-            scanner = new Scanner(System.in);
+            // Offline runs: serve the recorded fixtures locally and point site.base.url at them
+            mockSite = MockSwiggySite.startIfEnabled(config);
+            if (batch) {
+                // Unattended: every scenario runs back to back, each behind its own fault proxy
+                exitCode = BatchMode.runScenarios(config, runConfig -> run(runConfig, true));
+            } else {
+                // Perf regression runs: replay a latency/fault scenario in front of the site
+                faultProxy = FaultProxy.startIfConfigured(config);
+                exitCode = run(config, false);
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Could not start local site: " + e.getMessage());
+            exitCode = BatchMode.EXIT_SETUP_FAILED;
+        } finally {
+            if (driverPool != null) {
+                driverPool.printMetrics();
+                driverPool.shutdown();
+            }
+            if (faultProxy != null) {
+                faultProxy.stop();
+            }
+            if (mockSite != null) {
+                mockSite.stop();
+            }
+        }
+        if (batch) {
+            System.exit(exitCode);
+        }
+    }
 
-            System.out.println("1. Initializing WebDriver...");
+    /**
+     * Runs the configured flows once. A single flow leases the shared browser and releases it afterwards;
+     * main shuts the pool down at exit.
+     * @param batch skip the inspection prompt and release the browser as soon as the flow ends
+     * @return a {@link BatchMode} exit code
+     */
+    private static int run(Properties config, boolean batch) {
+        SelectorStats selectorStats = SelectorStats.load(config.getProperty("selector.stats.file", "selector-stats.properties"));
+        SessionVault sessionVault = null;
+        if (Boolean.parseBoolean(config.getProperty("session.vault.enabled", "true"))) {
+            sessionVault = new SessionVault(
+                config.getProperty("session.vault.file", "session/swiggy-session.json"),
+                Duration.ofHours(Long.parseLong(config.getProperty("session.vault.max.age.hours", "72"))));
+        }
+        DriverBinaryCache.resolveChromeDriver(config);
+        BrowserProfile profile = BrowserProfile.fromConfig(config);
+        ScreenshotWriter.configure(Integer.parseInt(config.getProperty("screenshot.queue.capacity", "16")),
+            () -> ArtifactStore.fromConfig(config));
+
+        if (Boolean.parseBoolean(config.getProperty("browser.profile.compare", "false"))) {
+            compareProfiles(config, selectorStats, sessionVault);
+            selectorStats.save();
+            return BatchMode.EXIT_OK;
+        }
+
+        int flowCount = Integer.parseInt(config.getProperty("flow.count", "1"));
+        if (flowCount > 1) {
+            // Unattended parallel run: no inspection prompt, every flow gets its own browser
+            try {
+                boolean allPassed = new ParallelFlowRunner(config, selectorStats, sessionVault, () -> createChromeDriver(profile))
+                    .run(flowCount, ctx -> new SwiggyAutomationFixed(ctx).runFlow());
+                return allPassed ? BatchMode.EXIT_OK : BatchMode.EXIT_FLOW_FAILED;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return BatchMode.EXIT_FLOW_FAILED;
+            } finally {
+                selectorStats.save();
+                ScreenshotWriter.shared().flush(30000);
+                ScreenshotWriter.shared().printMetrics();
+            }
+        }
+
+        DriverPool pool = null;
+        WebDriver driver = null;
+        // Stays at setup failure until a browser is leased
+        int exitCode = BatchMode.EXIT_SETUP_FAILED;
+        try {
+            System.out.println("1. Initializing WebDriver (" + profile.getName() + " profile)...");
+            pool = sharedDriverPool(profile);
+            long leaseTimeout = Long.parseLong(config.getProperty("driver.pool.lease.timeout.seconds", "120"));
+            driver = pool.lease(Duration.ofSeconds(leaseTimeout));
+            DriverBinaryCache.logReady();
             System.out.println("   ✓ WebDriver initialized successfully\n");
 
+            FlowContext ctx = new FlowContext(driver, config, selectorStats, sessionVault);
+            exitCode = BatchMode.EXIT_FLOW_FAILED;
+            if (new SwiggyAutomationFixed(ctx).runFlow()) {
+                exitCode = BatchMode.EXIT_OK;
+            }
+            ctx.getReport().printWaitSavings();
+            ctx.getReport().printSummary();
+            ctx.getReport().printCommandTrace();
+        } catch (Exception e) {
+            System.err.println("❌ Error during automation: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            selectorStats.save();
+            ScreenshotWriter.shared().flush(30000);
+            ScreenshotWriter.shared().printMetrics();
+
+            // Keep browser open for manual inspection unless running unattended
+            if (batch) {
+                System.out.println("\n🎉 Automation completed. Returning the browser to the pool...");
+            } else {
+                System.out.println("\n🎉 Automation completed. Press Enter to close the browser...");
+                new Scanner(System.in).nextLine();
+            }
+            if (pool != null) {
+                pool.release(driver);
+            }
+        }
+        return exitCode;
+    }
+
+    // Launched on the first run with that run's profile; later runs reuse its browser
+    private static synchronized DriverPool sharedDriverPool(BrowserProfile profile) {
+        if (driverPool == null) {
+            driverPool = new DriverPool(1, () -> createChromeDriver(profile));
+        }
+        return driverPool;
+    }
+
+    /**
+     * Runs one complete order flow in this context's browser. Each numbered step is timed through
+     * the run report, and the run record is written to {@code report.dir} at the end.
+     * @return true if the flow ended on the payment page
+     */
+    public boolean runFlow() {
+        try {
             // Step 1: Navigate to Swiggy and Login
-            System.out.println("2. Navigating to Swiggy website...");
-            navigateToSwiggy();
-            System.out.println("   ✓ Navigated to: https://www.swiggy.com/\n");
+            report.put("wait_strategy", waitStrategy.name().toLowerCase(Locale.ROOT));
+            if (config.getProperty("fault.scenario.name") != null) {
+                report.put("scenario", config.getProperty("fault.scenario.name"));
+            }
+            report.step("navigate", () -> {
+                System.out.println("2. Navigating to Swiggy website...");
+                navigateToSwiggy();
+                System.out.println("   ✓ Navigated to: " + site("/") + "\n");
+            });
 
-            System.out.println("3. Starting login process...");
-            loginToSwiggy();
-            System.out.println("   ✓ Login process completed\n");
+            report.step("login", () -> {
+                System.out.println("3. Starting login process...");
+                loginToSwiggy();
+                System.out.println("   ✓ Login process completed\n");
+            });
 
             // Step 2: Validate page title and URL
-            System.out.println("4. Validating page title and URL...");
-            validatePageTitleAndURL();
-            System.out.println("   ✓ Page validation completed\n");
+            report.step("validate", () -> {
+                System.out.println("4. Validating page title and URL...");
+                validatePageTitleAndURL();
+                System.out.println("   ✓ Page validation completed\n");
+            });
 
             // Step 3: Set delivery location (Bangalore)
-            System.out.println("5. Setting delivery location...");
-            String location = config.getProperty("test.location", "Bangalore");
-            enterDeliveryLocation(location);
-            System.out.println("   ✓ Delivery location set successfully\n");
+            report.step("location", () -> {
+                System.out.println("5. Setting delivery location...");
+                String location = config.getProperty("test.location", "Bangalore");
+                report.put("location", location);
+                enterDeliveryLocation(location);
+                System.out.println("   ✓ Delivery location set successfully\n");
+            });
 
             // Step 4: Ensure Food Delivery mode is selected and land on /restaurants
-            System.out.println("6. Ensuring Food Delivery mode is active...");
-            ensureFoodDeliveryMode();
-            ensureOrderOnlineOnListing();
-            System.out.println("   ✓ Food delivery + Order Online confirmed on listings\n");
+            report.step("delivery_mode", () -> {
+                System.out.println("6. Ensuring Food Delivery mode is active...");
+                ensureFoodDeliveryMode();
+                ensureOrderOnlineOnListing();
+                requireState(PageStateClassifier.State.LISTING);
+                System.out.println("   ✓ Food delivery + Order Online confirmed on listings\n");
+            });
 
             // Step 5: Open first visible restaurant (no search)
-            System.out.println("7. Opening first available restaurant...");
-            String restaurantName = openFirstRestaurantAndGetName();
-            ensureOrderOnlineInRestaurant();
-            System.out.println("   ✓ Opened restaurant: " + restaurantName + "\n");
+            String restaurantName = report.stepWithResult("open_restaurant", () -> {
+                System.out.println("7. Opening first available restaurant...");
+                String name = openFirstRestaurantAndGetName();
+                ensureOrderOnlineInRestaurant();
+                requireState(PageStateClassifier.State.MENU);
+                System.out.println("   ✓ Opened restaurant: " + name + "\n");
+                return name;
+            });
+            report.put("restaurant", restaurantName);
 
             // Step 6: Select the second dish in menu and add to cart
-            System.out.println("8. Adding second dish from the menu...");
-            String selectedItem = selectFoodItemAndAddToCart("Veg Loaded");
-            System.out.println("   ✓ Food item selected: " + selectedItem);
-            takeScreenshot("screenshot_after_adding_item");
+            String selectedItem = report.stepWithResult("add_item", () -> {
+                System.out.println("8. Adding second dish from the menu...");
+                String item = selectFoodItemAndAddToCart("Veg Loaded");
+                System.out.println("   ✓ Food item selected: " + item);
+                takeScreenshot("screenshot_after_adding_item");
+                return item;
+            });
+            report.put("item", selectedItem);
 
             // Step 7: Proceed to cart
-            System.out.println("9. Proceeding to cart...");
-            proceedToCart();
-            takeScreenshot("screenshot_after_increasing_quantity");
+            report.step("cart", () -> {
+                System.out.println("9. Proceeding to cart...");
+                proceedToCart();
+                requireState(PageStateClassifier.State.CART, PageStateClassifier.State.ADDRESS_FORM);
+                takeScreenshot("screenshot_after_increasing_quantity");
+            });
 
             // Step 8: Proceed to checkout and enter delivery address
-            System.out.println("10. Proceeding to checkout...");
-            proceedToCheckout();
-            enterDeliveryAddress();
-            System.out.println("   ✓ Delivery address entered");
-            takeScreenshot("screenshot_after_entering_address");
+            report.step("checkout", () -> {
+                System.out.println("10. Proceeding to checkout...");
+                proceedToCheckout();
+                enterDeliveryAddress();
+                // The live site may keep the address form open or move straight on to payment; the payment step decides
+                requireState(PageStateClassifier.State.CART, PageStateClassifier.State.ADDRESS_FORM,
+                    PageStateClassifier.State.PAYMENT);
+                System.out.println("   ✓ Delivery address entered");
+                takeScreenshot("screenshot_after_entering_address");
+            });
 
             // Step 9: Proceed to payment
-            System.out.println("11. Proceeding to payment page...");
-            proceedToPayment();
-            System.out.println("   ✓ Successfully navigated to the payment page.");
-            takeScreenshot("screenshot_payment_page");
+            report.step("payment", () -> {
+                System.out.println("11. Proceeding to payment page...");
+                proceedToPayment();
+                requireState(PageStateClassifier.State.PAYMENT);
+                System.out.println("   ✓ Successfully navigated to the payment page.");
+                takeScreenshot("screenshot_payment_page");
+            });
 
-            // Final logs
-            printFinalLogs(restaurantName, selectedItem);
+            // Success is where the flow ended up, not merely that no exception escaped
+            PageStateClassifier.Snapshot last = PageStateClassifier.classify(driver);
+            report.put("final_state", last.getState().name().toLowerCase(Locale.ROOT));
+            if (!last.is(PageStateClassifier.State.PAYMENT)) {
+                System.err.println("❌ Flow ended on " + last.getState() + " instead of the payment page (" + ctx.getName() + ")");
+                report.put("result", "failed: ended on " + last.getState().name().toLowerCase(Locale.ROOT));
+                takeScreenshot("final_state_not_payment");
+                dumpFrameRing("Flow ended on " + last.getState());
+                return false;
+            }
+            report.put("result", "payment page reached");
+            return true;
 
         } catch (Exception e) {
-            System.err.println("❌ Error during automation: " + e.getMessage());
+            System.err.println("❌ Error during automation (" + ctx.getName() + "): " + e.getMessage());
             e.printStackTrace();
+            report.put("result", "failed: " + e.getMessage());
             takeScreenshot("error_screenshot");
+            dumpFrameRing("Flow failed");
+            storeFailureLog(e);
+            return false;
         } finally {
-            // Keep browser open for manual inspection
-            System.out.println("\n🎉 Automation completed. Press Enter to close the browser...");
-            if (scanner != null) {
-                scanner.nextLine();
+            report.finish();
+            NetworkBlocker blocker = ctx.getNetworkBlocker();
+            if (blocker != null) {
+                report.put("requests_blocked", String.valueOf(blocker.getBlockedRequests()));
+                report.put("bytes_transferred", String.valueOf(blocker.getTransferredBytes()));
+                report.put("bytes_saved_estimate", String.valueOf(blocker.getEstimatedSavedBytes()));
+                blocker.printSummary(ctx.getName());
+                blocker.detach();
+            }
+            report.writeRecords(Paths.get(config.getProperty("report.dir", "reports")), ctx.getRunId());
+            if (frameRing != null) {
+                System.out.println("   🎞 Failure-only screenshots (" + ctx.getName() + "): " + frameRing.getCaptured()
+                    + " captured, " + frameRing.getWritten() + " written");
             }
-            if (driver != null) {
+        }
+    }
+
+    // Measurement mode: the same flow once per profile, one after the other so they do not compete for CPU
+    private static void compareProfiles(Properties config, SelectorStats selectorStats, SessionVault sessionVault) {
+        List<String> labels = new ArrayList<>();
+        List<Long> browserStartMs = new ArrayList<>();
+        List<RunReport> reports = new ArrayList<>();
+        for (String name : new String[] { BrowserProfile.STANDARD, BrowserProfile.THROUGHPUT }) {
+            System.out.println("\n📏 Measuring " + name + " profile...");
+            long start = System.currentTimeMillis();
+            WebDriver driver = createChromeDriver(BrowserProfile.named(name, config));
+            long startMs = System.currentTimeMillis() - start;
+            try {
+                FlowContext ctx = new FlowContext(driver, config, selectorStats, sessionVault);
+                new SwiggyAutomationFixed(ctx).runFlow();
+                labels.add(name);
+                browserStartMs.add(startMs);
+                reports.add(ctx.getReport());
+            } finally {
                 driver.quit();
             }
         }
+        RunReport.printComparison(labels, browserStartMs, reports);
     }
 
-    private static void loadConfiguration() {
-        config = new Properties();
+    private static Properties loadConfiguration() {
+        Properties config = new Properties();
         try {
             FileInputStream configFile = new FileInputStream("config.properties");
             config.load(configFile);
@@ -126,24 +365,36 @@ public class SwiggyAutomationFixed {
             config.setProperty("test.location", "Bangalore");
             config.setProperty("test.restaurant", "Domino's Pizza");
         }
+        return config;
     }
 
-    private static void setupDriver() {
-        WebDriverManager.chromedriver().setup();
+    // Wait for the page to settle as the configured wait strategy decides, spending budgetMs at the latest
+    private void settle(long budgetMs) {
+        report.beginWait();
+        long waited = waitStrategy.settle(driver, quietWindowMs, budgetMs);
+        report.recordWait(budgetMs, waited);
+    }
+
+    private static WebDriver createChromeDriver(BrowserProfile profile) {
         ChromeOptions options = new ChromeOptions();
         options.addArguments("--disable-notifications");
-        options.addArguments("--start-maximized");
+        profile.applyTo(options);
         options.addArguments("--disable-web-security");
         options.addArguments("--disable-features=VizDisplayCompositor");
-        driver = new ChromeDriver(options);
-        wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
+        WebDriver chrome = new ChromeDriver(options);
+        chrome.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
+        return chrome;
+    }
+
+    // Absolute URL of a path on the site under test (live Swiggy or the local mock)
+    private String site(String path) {
+        return baseUrl + path;
     }
 
-    private static void navigateToSwiggy() {
-        driver.get("https://www.swiggy.com/");
+    private void navigateToSwiggy() {
+        driver.get(site("/"));
         try {
-            Thread.sleep(3000);
+            settle(3000);
             // Handle location popup if it appears
             try {
                 WebElement locationPopup = driver.findElement(By.cssSelector("[class*='location-deny']"));
@@ -158,10 +409,17 @@ public class SwiggyAutomationFixed {
         }
     }
 
-    private static void loginToSwiggy() {
+    private void loginToSwiggy() {
         try {
+            // Reuse a saved session when it is still valid and skip the OTP round entirely
+            if (sessionVault != null && sessionVault.restore(driver, site("/"))) {
+                takeScreenshot("session_restored");
+                redirectToFoodDelivery();
+                return;
+            }
+
             System.out.println("   🔍 Looking for login button...");
-            Thread.sleep(2000); // Reduced from 5000
+            settle(2000); // Reduced from 5000
             takeScreenshot("page_loaded");
 
             // Find and click login button - optimized selectors
@@ -184,39 +442,29 @@ public class SwiggyAutomationFixed {
                     System.out.println("   ✓ Login button found via CSS selector");
                 }
             } catch (Exception e) {
-                // Fall back to XPath selectors
-                for (String selector : loginSelectors) {
-                    try {
-                        if (selector.startsWith("//")) {
-                            loginButton = wait.until(ExpectedConditions.elementToBeClickable(By.xpath(selector)));
-                        } else {
-                            loginButton = wait.until(ExpectedConditions.elementToBeClickable(By.cssSelector(selector)));
-                        }
-                        if (loginButton.isDisplayed()) {
-                            System.out.println("   ✓ Login button found");
-                            break;
-                        }
-                    } catch (Exception ex) {
-                        continue;
-                    }
+                // Fall back to racing all selectors under one shared deadline
+                SelectorCascade.Match loginMatch = SelectorCascade.race(driver, selectorStats, "login_button", Duration.ofSeconds(15), loginSelectors);
+                if (loginMatch != null) {
+                    loginButton = loginMatch.getElement();
+                    System.out.println("   ✓ Login button found (" + loginMatch + ")");
                 }
             }
 
             // Fallback for auth page if button not found
             if (loginButton == null) {
                 System.out.println("   ↪️ Navigating directly to auth page");
-                driver.get("https://www.swiggy.com/auth");
-                Thread.sleep(1000); // Reduced wait time
+                driver.get(site("/auth"));
+                settle(1000); // Reduced wait time
             } else {
                 ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView({block:'center'});", loginButton);
-                Thread.sleep(200); // Reduced from 400
+                settle(200); // Reduced from 400
                 try {
                     loginButton.click();
                 } catch (Exception e) {
                     ((JavascriptExecutor) driver).executeScript("arguments[0].click();", loginButton);
                 }
                 System.out.println("   ✓ Login button clicked");
-                Thread.sleep(1500); // Reduced from 3000
+                settle(1500); // Reduced from 3000
             }
 
             takeScreenshot("after_login_button_click");
@@ -237,19 +485,9 @@ public class SwiggyAutomationFixed {
                 "//input[@inputmode='numeric']"
             };
 
-            for (String selector : phoneSelectors) {
-                try {
-                    if (selector.startsWith("//")) {
-                        phoneInput = driver.findElement(By.xpath(selector));
-                    } else {
-                        phoneInput = driver.findElement(By.cssSelector(selector));
-                    }
-                    if (phoneInput.isDisplayed()) {
-                        break;
-                    }
-                } catch (Exception e) {
-                    continue;
-                }
+            SelectorCascade.Match phoneMatch = SelectorCascade.resolve(driver, selectorStats, "phone_input", phoneSelectors);
+            if (phoneMatch != null) {
+                phoneInput = phoneMatch.getElement();
             }
 
             if (phoneInput != null) {
@@ -258,7 +496,7 @@ public class SwiggyAutomationFixed {
                 phoneInput.sendKeys(phoneNumber);
                 System.out.println("   ✓ Phone number entered: " + phoneNumber);
 
-                Thread.sleep(800); // Reduced from 1500
+                settle(800); // Reduced from 1500
                 takeScreenshot("phone_number_entered");
 
                 System.out.println("   🔍 Looking for continue/submit button...");
@@ -278,36 +516,20 @@ public class SwiggyAutomationFixed {
                 };
 
                 boolean buttonFound = false;
-                for (String selector : continueSelectors) {
-                    try {
-                        List<WebElement> buttons;
-                        if (selector.startsWith("//")) {
-                            buttons = driver.findElements(By.xpath(selector));
-                        } else {
-                            buttons = driver.findElements(By.cssSelector(selector));
-                        }
-                        for (WebElement b : buttons) {
-                            if (b.isDisplayed() && b.isEnabled()) {
-                                continueButton = b;
-                                buttonFound = true;
-                                break;
-                            }
-                        }
-                        if (buttonFound) break;
-                    } catch (Exception ignore) {}
+                SelectorCascade.Match continueMatch = SelectorCascade.resolveEnabled(driver, continueSelectors);
+                if (continueMatch != null) {
+                    continueButton = continueMatch.getElement();
+                    buttonFound = true;
                 }
 
                 // Smart parent container search if button still not found
                 if (!buttonFound) {
                     try {
                         WebElement parentContainer = phoneInput.findElement(By.xpath("./ancestor::form[1] | ./ancestor::div[contains(@class,'login') or contains(@class,'signin')][1]"));
-                        List<WebElement> allButtons = parentContainer.findElements(By.cssSelector("button, [role='button']"));
-                        for (WebElement btn : allButtons) {
-                            if (btn.isDisplayed() && btn.isEnabled()) {
-                                continueButton = btn;
-                                buttonFound = true;
-                                break;
-                            }
+                        SelectorCascade.Match containerMatch = SelectorCascade.resolveWithin(driver, parentContainer, "button, [role='button']");
+                        if (containerMatch != null) {
+                            continueButton = containerMatch.getElement();
+                            buttonFound = true;
                         }
                     } catch (Exception ignore) {}
                 }
@@ -324,45 +546,59 @@ public class SwiggyAutomationFixed {
                     phoneInput.sendKeys(Keys.ENTER);
                 }
 
-                Thread.sleep(1000);
+                settle(1000);
                 takeScreenshot("after_continue_button_click");
 
                 System.out.println("\n   📱 MANUAL OTP ENTRY REQUIRED 📱");
-                System.out.println("   ⏰  Enter the OTP in the browser within 30 seconds");
-                Thread.sleep(30000);
+                long otpTimeout = Long.parseLong(config.getProperty("login.otp.timeout.seconds", "30"));
+                System.out.println("   ⏰  Enter the OTP in the browser within " + otpTimeout + " seconds");
+                // Resumes as soon as the page shows a logged-in state instead of always sleeping the full timeout
+                boolean loggedIn = SessionVault.awaitLogin(driver, Duration.ofSeconds(otpTimeout));
                 takeScreenshot("after_otp_entry");
+                if (!loggedIn) {
+                    throw new IllegalStateException("Not logged in within " + otpTimeout + " s");
+                }
+                if (sessionVault != null) {
+                    sessionVault.save(driver);
+                }
                 System.out.println("   ✓ Login process completed");
 
-                // Quick redirect to Food Delivery listings
-                try {
-                    String restaurantsUrl = "https://www.swiggy.com/order-online-near-me";
-                    System.out.println("   ➡️ Redirecting to Food Delivery: " + restaurantsUrl);
-                    driver.get(restaurantsUrl);
-                    Thread.sleep(2000);
-                    takeScreenshot("after_login_restaurants_redirect");
-                } catch (Exception ignore) {}
+                redirectToFoodDelivery();
             } else {
                 takeScreenshot("phone_input_not_found");
                 throw new RuntimeException("Phone input field not found");
             }
 
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
             System.out.println("   ⚠️ Error in login: " + e.getMessage());
             takeScreenshot("login_error");
+            throw e;
         }
     }
 
-    private static void validatePageTitleAndURL() {
-        String pageTitle = driver.getTitle();
-        String currentURL = driver.getCurrentUrl();
-        System.out.println("   📄 Page Title: " + pageTitle);
-        System.out.println("   🔗 Current URL: " + currentURL);
+    // Quick redirect to Food Delivery listings
+    private void redirectToFoodDelivery() {
+        try {
+            String restaurantsUrl = site("/order-online-near-me");
+            System.out.println("   ➡️ Redirecting to Food Delivery: " + restaurantsUrl);
+            driver.get(restaurantsUrl);
+            settle(2000);
+            takeScreenshot("after_login_restaurants_redirect");
+        } catch (Exception ignore) {}
+    }
+
+    private void validatePageTitleAndURL() {
+        PageStateClassifier.Snapshot page = PageStateClassifier.classify(driver);
+        System.out.println("   📄 Page Title: " + page.getTitle());
+        System.out.println("   🔗 Current URL: " + page.getUrl());
+        System.out.println("   🧭 Page state: " + page);
+        report.put("state_after_login", page.getState().name().toLowerCase(Locale.ROOT));
     }
 
-    private static void enterDeliveryLocation(String location) {
+    private void enterDeliveryLocation(String location) {
         try {
             System.out.println("   📍 Looking for location input...");
-            Thread.sleep(5000);
+            settle(5000);
 
             String[] locationSelectors = {
                 "//input[@placeholder*='Enter your delivery location']",
@@ -372,125 +608,83 @@ public class SwiggyAutomationFixed {
             };
 
             WebElement locationInput = null;
-            for (String selector : locationSelectors) {
-                try {
-                    locationInput = driver.findElement(By.xpath(selector));
-                    if (locationInput.isDisplayed()) {
-                        System.out.println("   ✓ Location input found");
-                        break;
-                    }
-                } catch (Exception e) {
-                    continue;
-                }
+            SelectorCascade.Match locationMatch = SelectorCascade.resolve(driver, locationSelectors);
+            if (locationMatch != null) {
+                locationInput = locationMatch.getElement();
+                System.out.println("   ✓ Location input found");
             }
 
             if (locationInput != null) {
                 locationInput.clear();
                 locationInput.sendKeys(location);
                 System.out.println("   ✓ Typed city name: " + location);
-                Thread.sleep(3000);
+                settle(3000);
 
                 // Press Enter to confirm location
                 locationInput.sendKeys(Keys.ENTER);
                 System.out.println("   ✓ Pressed Enter to confirm location");
-                Thread.sleep(5000);
+                settle(5000);
                 takeScreenshot("location_selected");
             } else {
                 System.out.println("   ℹ️ Location input not found, may already be set");
             }
 
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
             System.out.println("   ⚠️ Error setting location: " + e.getMessage());
             takeScreenshot("location_error");
+            throw e;
         }
     }
 
-    private static void ensureFoodDeliveryMode() {
+    // Branches on the classified page state instead of probing tabs and listings one XPath at a time
+    private void ensureFoodDeliveryMode() {
         try {
             System.out.println("   🚚 Ensuring we're on the food delivery page...");
-            Thread.sleep(1500);
-
-            // Try clicking an explicit Delivery/Food Delivery tab/pill if visible
-            try {
-                WebElement deliveryTab = driver.findElement(By.xpath("//*[contains(text(),'Food Delivery') or normalize-space(.)='Delivery' or contains(translate(., 'ABCDEFGHIJKLMNOPQRSTUVWXYZ','abcdefghijklmnopqrstuvwxyz'),'delivery')]/ancestor::*[self::a or self::button or self::div][1]"));
-                if (deliveryTab.isDisplayed()) {
-                    ((JavascriptExecutor) driver).executeScript("arguments[0].click();", deliveryTab);
-                    Thread.sleep(1200);
-                }
-            } catch (Exception ignored) {}
-
-            // If URL contains dineout/dine-out, force redirect to order-online-near-me
-            String currentUrl = driver.getCurrentUrl();
-            if (currentUrl.contains("dineout") || currentUrl.contains("dine-out")) {
-                System.out.println("   ↪️ Detected dine-out URL. Redirecting to Food Delivery...");
-                driver.get("https://www.swiggy.com/order-online-near-me");
-                Thread.sleep(4000);
+            settle(1500);
+            PageStateClassifier.Snapshot page = PageStateClassifier.classify(driver);
+            System.out.println("   🧭 Page state: " + page);
+
+            if (page.is(PageStateClassifier.State.LISTING) && page.isDineout() && page.getOrderOnlineTab() != null) {
+                System.out.println("   ↪️ Dineout listing. Switching to Order Online...");
+                clickOrderOnlineTab(page, "order_online_listing_selected");
+                page = PageStateClassifier.classify(driver);
             }
-
-            // If we're not already on the correct page, navigate there
-            currentUrl = driver.getCurrentUrl();
-            if (!currentUrl.contains("/order-online-near-me") && !currentUrl.contains("/restaurants")) {
+            if (!page.is(PageStateClassifier.State.LISTING) || page.isDineout()) {
                 System.out.println("   ➡️ Navigating directly to Food Delivery listings");
-                driver.get("https://www.swiggy.com/order-online-near-me");
-                Thread.sleep(4000);
+                takeScreenshot("before_restaurants_navigation");
+                driver.get(site("/order-online-near-me"));
+                settle(4000);
+                page = PageStateClassifier.classify(driver);
             }
 
-            // Wait and verify presence of restaurant cards (delivery listing)
-            takeScreenshot("before_restaurants_navigation");
-            Thread.sleep(2000);
-            currentUrl = driver.getCurrentUrl();
-            System.out.println("   🔗 Current URL: " + currentUrl);
-
-            // Basic presence check
-            List<WebElement> restaurantCards = driver.findElements(By.xpath(
-                "//a[contains(@href,'/restaurants/') and not(contains(@href,'/restaurants$'))] | " +
-                "//*[@data-testid='restaurant-card'] | " +
-                "//div[contains(@class,'listing') or contains(@class,'_1MIkP') or contains(@class,'styles_listingCard')]//a[contains(@href,'restaurants')]"
-            ));
-
-            if (!restaurantCards.isEmpty()) {
-                System.out.println("   ✅ Food Delivery listings detected (" + restaurantCards.size() + ")");
+            if (page.is(PageStateClassifier.State.LISTING) && page.getRestaurantCards() > 0) {
+                System.out.println("   ✅ Food Delivery listings detected (" + page.getRestaurantCards() + ")");
             } else {
-                System.out.println("   ⚠️ Could not detect delivery listings yet; forcing one more redirect");
-                driver.get("https://www.swiggy.com/order-online-near-me");
-                Thread.sleep(4000);
+                System.out.println("   ⚠️ Could not detect delivery listings yet (" + page.getState() + "); forcing one more redirect");
+                driver.get(site("/order-online-near-me"));
+                settle(4000);
             }
-
+            System.out.println("   🔗 Current URL: " + driver.getCurrentUrl());
             takeScreenshot("after_restaurants_navigation");
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
             System.out.println("   ⚠️ Error ensuring food delivery mode: " + e.getMessage());
             takeScreenshot("restaurants_navigation_error");
+            throw e;
         }
     }
 
     // Ensure Order Online tab is active on listings (avoid Dineout)
-    private static void ensureOrderOnlineOnListing() {
+    private void ensureOrderOnlineOnListing() {
         try {
-            Thread.sleep(800);
-            String[] orderOnlineSelectors = new String[] {
-                "//*[normalize-space(.)='Order Online']/ancestor::*[self::a or self::button or self::div][1]",
-                "//*[contains(translate(., 'ABCDEFGHIJKLMNOPQRSTUVWXYZ','abcdefghijklmnopqrstuvwxyz'),'order online')]/ancestor::*[self::a or self::button or self::div][1]"
-            };
-            for (String sel : orderOnlineSelectors) {
-                try {
-                    List<WebElement> tabs = driver.findElements(By.xpath(sel));
-                    if (!tabs.isEmpty()) {
-                        WebElement tab = tabs.get(0);
-                        if (tab.isDisplayed()) {
-                            ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView({block:'center'});", tab);
-                            Thread.sleep(300);
-                            try { tab.click(); } catch (Exception e) { ((JavascriptExecutor) driver).executeScript("arguments[0].click();", tab); }
-                            Thread.sleep(1200);
-                            takeScreenshot("order_online_listing_selected");
-                            break;
-                        }
-                    }
-                } catch (Exception ignored) {}
+            PageStateClassifier.Snapshot page = PageStateClassifier.classify(driver);
+            if (page.getOrderOnlineTab() != null && !page.isOrderOnlineActive()) {
+                clickOrderOnlineTab(page, "order_online_listing_selected");
+                page = PageStateClassifier.classify(driver);
             }
-            // Force URL to /restaurants if still wrong
-            if (!driver.getCurrentUrl().contains("/restaurants")) {
-                driver.get("https://www.swiggy.com/restaurants");
-                Thread.sleep(1500);
+            // Any delivery listing will do; only navigate when we are somewhere else
+            if (!page.is(PageStateClassifier.State.LISTING) || page.isDineout()) {
+                driver.get(site("/restaurants"));
+                settle(1500);
             }
         } catch (Exception e) {
             takeScreenshot("order_online_listing_error");
@@ -498,35 +692,29 @@ public class SwiggyAutomationFixed {
     }
 
     // Ensure Order Online tab is active inside a restaurant page
-    private static void ensureOrderOnlineInRestaurant() {
+    private void ensureOrderOnlineInRestaurant() {
         try {
-            Thread.sleep(800);
-            String[] orderOnlineSelectors = new String[] {
-                "//*[normalize-space(.)='Order Online']/ancestor::*[self::a or self::button or self::div][1]",
-                "//*[contains(translate(., 'ABCDEFGHIJKLMNOPQRSTUVWXYZ','abcdefghijklmnopqrstuvwxyz'),'order online')]/ancestor::*[self::a or self::button or self::div][1]"
-            };
-            for (String sel : orderOnlineSelectors) {
-                try {
-                    List<WebElement> tabs = driver.findElements(By.xpath(sel));
-                    if (!tabs.isEmpty()) {
-                        WebElement tab = tabs.get(0);
-                        if (tab.isDisplayed()) {
-                            ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView({block:'center'});", tab);
-                            Thread.sleep(300);
-                            try { tab.click(); } catch (Exception e) { ((JavascriptExecutor) driver).executeScript("arguments[0].click();", tab); }
-                            Thread.sleep(1200);
-                            takeScreenshot("order_online_restaurant_selected");
-                            break;
-                        }
-                    }
-                } catch (Exception ignored) {}
+            PageStateClassifier.Snapshot page = PageStateClassifier.classify(driver);
+            if (!page.is(PageStateClassifier.State.MENU)) {
+                System.out.println("   ⚠️ Expected a restaurant menu, page state is " + page.getState());
+            }
+            if (page.getOrderOnlineTab() != null && !page.isOrderOnlineActive()) {
+                clickOrderOnlineTab(page, "order_online_restaurant_selected");
             }
         } catch (Exception e) {
             takeScreenshot("order_online_restaurant_error");
         }
     }
 
-    private static String searchForRestaurant(String restaurantName) {
+    private void clickOrderOnlineTab(PageStateClassifier.Snapshot page, String screenshot) {
+        WebElement tab = page.getOrderOnlineTab();
+        ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView({block:'center'});", tab);
+        try { tab.click(); } catch (Exception e) { ((JavascriptExecutor) driver).executeScript("arguments[0].click();", tab); }
+        settle(1200);
+        takeScreenshot(screenshot);
+    }
+
+    private String searchForRestaurant(String restaurantName) {
         try {
             // Use the configured restaurant from properties
             String configuredRestaurant = config.getProperty("test.restaurant", restaurantName);
@@ -534,7 +722,7 @@ public class SwiggyAutomationFixed {
             takeScreenshot("before_restaurant_search");
 
             // Wait for page to load and ensure we're in delivery mode
-            Thread.sleep(5000);
+            settle(5000);
 
             // First, ensure we're in DELIVERY mode, not DINE OUT
             try {
@@ -546,18 +734,11 @@ public class SwiggyAutomationFixed {
                     "//button[contains(text(),'Delivery')]"
                 };
 
-                for (String selector : deliveryModeSelectors) {
-                    try {
-                        WebElement deliveryMode = driver.findElement(By.xpath(selector));
-                        if (deliveryMode.isDisplayed()) {
-                            deliveryMode.click();
-                            System.out.println("Clicked on Delivery mode");
-                            Thread.sleep(2000);
-                            break;
-                        }
-                    } catch (Exception e) {
-                        continue;
-                    }
+                SelectorCascade.Match deliveryMatch = SelectorCascade.resolve(driver, deliveryModeSelectors);
+                if (deliveryMatch != null) {
+                    deliveryMatch.getElement().click();
+                    System.out.println("Clicked on Delivery mode");
+                    settle(2000);
                 }
             } catch (Exception e) {
                 System.out.println("Could not find delivery mode selector");
@@ -577,21 +758,11 @@ public class SwiggyAutomationFixed {
             };
 
             boolean searchBarFound = false;
-            for (int i = 0; i < searchSelectors.length; i++) {
-                try {
-                    System.out.println("Trying search selector " + (i+1) + ": " + searchSelectors[i]);
-                    WebDriverWait shortWait = new WebDriverWait(driver, Duration.ofSeconds(3));
-                    searchBar = shortWait.until(ExpectedConditions.presenceOfElementLocated(By.xpath(searchSelectors[i])));
-
-                    if (searchBar.isDisplayed()) {
-                        System.out.println("Found search bar with selector: " + searchSelectors[i]);
-                        searchBarFound = true;
-                        break;
-                    }
-                } catch (Exception e) {
-                    System.out.println("Search bar not found with selector " + (i+1));
-                    continue;
-                }
+            SelectorCascade.Match searchMatch = SelectorCascade.race(driver, Duration.ofSeconds(8), searchSelectors);
+            if (searchMatch != null) {
+                searchBar = searchMatch.getElement();
+                System.out.println("Found search bar with " + searchMatch);
+                searchBarFound = true;
             }
 
             if (!searchBarFound) {
@@ -626,7 +797,7 @@ public class SwiggyAutomationFixed {
                 }
             }
 
-            Thread.sleep(5000);
+            settle(5000);
             takeScreenshot("search_results");
             return configuredRestaurant;
 
@@ -637,24 +808,12 @@ public class SwiggyAutomationFixed {
         }
     }
 
-    private static void selectRestaurantByNameOnListing(String name) {
+    private void selectRestaurantByNameOnListing(String name) {
         try {
-            String[] selectors = {
-                "//a[contains(@href,'restaurants')][.//*[contains(translate(., 'ABCDEFGHIJKLMNOPQRSTUVWXYZ', 'abcdefghijklmnopqrstuvwxyz'), translate('" + name + "', 'ABCDEFGHIJKLMNOPQRSTUVWXYZ', 'abcdefghijklmnopqrstuvwxyz'))]]",
-                "//a[contains(@href,'restaurants')][contains(translate(., 'ABCDEFGHIJKLMNOPQRSTUVWXYZ', 'abcdefghijklmnopqrstuvwxyz'), translate('" + name + "', 'ABCDEFGHIJKLMNOPQRSTUVWXYZ', 'abcdefghijklmnopqrstuvwxyz'))]"
-            };
-            for (String s : selectors) {
-                try {
-                    List<WebElement> els = driver.findElements(By.xpath(s));
-                    if (!els.isEmpty()) {
-                        WebElement el = els.get(0);
-                        ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", el);
-                        Thread.sleep(400);
-                        try { el.click(); } catch (Exception e) { ((JavascriptExecutor) driver).executeScript("arguments[0].click();", el); }
-                        Thread.sleep(4000);
-                        return;
-                    }
-                } catch (Exception ignored) {}
+            RestaurantCard card = ListingExtractor.byName(ListingExtractor.extract(driver), name);
+            if (card != null) {
+                openRestaurant(card);
+                return;
             }
             // Fallback to any restaurant
             selectAnyAvailableRestaurant();
@@ -663,53 +822,30 @@ public class SwiggyAutomationFixed {
         }
     }
 
-    private static void selectAnyAvailableRestaurant() {
+    private void selectAnyAvailableRestaurant() {
         try {
             System.out.println("   🏠 Looking for any available restaurant...");
-            Thread.sleep(1500);
-
-            String[] restaurantSelectors = {
-                "//div[contains(@class,'_1MIkP')]//a[contains(@href,'restaurants')]",
-                "//a[contains(@href,'restaurants/') and contains(@href,'-')]",
-                "//*[@data-testid='restaurant-card']//a",
-                "//div[contains(@class,'styles_listingCard')]//a",
-                "//a[contains(@href,'/restaurants') and not(contains(@href,'/restaurants$'))]"
-            };
+            settle(1500);
 
-            for (String selector : restaurantSelectors) {
+            List<RestaurantCard> cards = ListingExtractor.extract(driver);
+            System.out.println("   🔍 Found " + cards.size() + " restaurant cards");
+            for (RestaurantCard card : cards.subList(0, Math.min(5, cards.size()))) {
                 try {
-                    List<WebElement> restaurants = driver.findElements(By.xpath(selector));
-                    System.out.println("   🔍 Found " + restaurants.size() + " restaurants with selector: " + selector);
-
-                    if (!restaurants.isEmpty()) {
-                        for (int i = 0; i < Math.min(5, restaurants.size()); i++) {
-                            try {
-                                WebElement restaurant = restaurants.get(i);
-                                if (restaurant.isDisplayed() && restaurant.isEnabled()) {
-                                    ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", restaurant);
-                                    Thread.sleep(400);
-                                    try { restaurant.click(); } catch (Exception e) { ((JavascriptExecutor) driver).executeScript("arguments[0].click();", restaurant); }
-                                    System.out.println("   ✓ Clicked on restaurant card");
-                                    Thread.sleep(4000);
-                                    takeScreenshot("restaurant_selected");
-
-                                    String currentUrl = driver.getCurrentUrl();
-                                    if (currentUrl.contains("restaurants/") && !currentUrl.endsWith("/restaurants")) {
-                                        System.out.println("   ✅ Successfully navigated to restaurant menu page");
-                                        return;
-                                    }
-                                }
-                            } catch (Exception e) {
-                                // try next
-                            }
-                        }
+                    openRestaurant(card);
+                    System.out.println("   ✓ Clicked on restaurant card: " + card);
+                    takeScreenshot("restaurant_selected");
+
+                    String currentUrl = driver.getCurrentUrl();
+                    if (currentUrl.contains("restaurants/") && !currentUrl.endsWith("/restaurants")) {
+                        System.out.println("   ✅ Successfully navigated to restaurant menu page");
+                        return;
                     }
                 } catch (Exception e) {
-                    // try next selector
+                    // Stale after a partial navigation; try the next card
                 }
             }
 
-            System.out.println("   ⚠️ No clickable restaurants found with any selector");
+            System.out.println("   ⚠️ No clickable restaurants found");
             takeScreenshot("no_restaurants_found");
 
         } catch (Exception e) {
@@ -718,14 +854,22 @@ public class SwiggyAutomationFixed {
         }
     }
 
+    // The only driver calls of a restaurant choice: scroll to the chosen card and click it
+    private void openRestaurant(RestaurantCard card) {
+        WebElement link = card.getLink();
+        ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView({block:'center'});", link);
+        try { link.click(); } catch (Exception e) { ((JavascriptExecutor) driver).executeScript("arguments[0].click();", link); }
+        settle(4000);
+    }
+
     // Wait for menu page content to load (presence of dish cards or ADD buttons)
-    private static void waitForMenuToLoad() {
+    private void waitForMenuToLoad() {
         try {
             WebDriverWait shortWait = new WebDriverWait(driver, Duration.ofSeconds(12));
             shortWait.until(d -> {
                 try {
-                    return !d.findElements(By.xpath("//button[contains(translate(., 'ABCDEFGHIJKLMNOPQRSTUVWXYZ','abcdefghijklmnopqrstuvwxyz'),'add')] | //div[contains(@class,'dish') or contains(@class,'item')][.//button]"))
-                              .isEmpty();
+                    return TextIndex.existsExact(d, "add", "button")
+                        || !d.findElements(By.cssSelector("div[class*='dish'] button, div[class*='item'] button")).isEmpty();
                 } catch (Exception ex) {
                     return false;
                 }
@@ -735,114 +879,128 @@ public class SwiggyAutomationFixed {
         }
     }
 
-    // Try to add a specific item by name, case-insensitive. Returns true if clicked ADD.
-    private static boolean addItemByName(String itemName) throws InterruptedException {
-        String itemXpath = "//*[contains(translate(., 'ABCDEFGHIJKLMNOPQRSTUVWXYZ','abcdefghijklmnopqrstuvwxyz'), translate('" + itemName + "','ABCDEFGHIJKLMNOPQRSTUVWXYZ','abcdefghijklmnopqrstuvwxyz'))]";
-        // Find the nearest menu card ancestor and click its ADD button
-        String[] cardAncestors = {
-            itemXpath + "/ancestor::div[contains(@class,'item')][1]",
-            itemXpath + "/ancestor::div[contains(@class,'dish')][1]",
-            itemXpath + "/ancestor::div[contains(@class,'_1HEo8') or contains(@class,'_3IlBn') or contains(@class,'_1gURR') or contains(@class,'_2xK7I')][1]",
-            itemXpath + "/ancestor::div[@role='listitem' or @data-testid='menu-item'][1]"
-        };
-        for (String cardSel : cardAncestors) {
-            try {
-                List<WebElement> cards = driver.findElements(By.xpath(cardSel));
-                if (!cards.isEmpty()) {
-                    WebElement card = cards.get(0);
-                    ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView({block:'center'});", card);
-                    Thread.sleep(600);
-                    // Find ADD within the card
-                    String[] addButtonSel = {
-                        ".//button[contains(translate(., 'ABCDEFGHIJKLMNOPQRSTUVWXYZ','abcdefghijklmnopqrstuvwxyz'),'add')]",
-                        ".//div[contains(translate(., 'ABCDEFGHIJKLMNOPQRSTUVWXYZ','abcdefghijklmnopqrstuvwxyz'),'add') and @role='button']",
-                        ".//span[contains(translate(., 'ABCDEFGHIJKLMNOPQRSTUVWXYZ','abcdefghijklmnopqrstuvwxyz'),'add')]/parent::button"
-                    };
-                    for (String ab : addButtonSel) {
-                        try {
-                            WebElement add = card.findElement(By.xpath(ab));
-                            if (add.isDisplayed() && add.isEnabled()) {
-                                try { add.click(); } catch (Exception e) { ((JavascriptExecutor) driver).executeScript("arguments[0].click();", add); }
-                                Thread.sleep(1200);
-                                handleCustomizationModalIfAny();
-                                return true;
-                            }
-                        } catch (Exception ignore) { }
-                    }
-                }
-            } catch (Exception ignore) { }
+    // Try to add a specific item by name, case-insensitive. Returns the name of the dish whose ADD was clicked, or null.
+    private String addItemByName(MenuIndex menu, String itemName) {
+        // One hash lookup and one click when the dish is indexed
+        MenuItem item = menu.find(itemName);
+        if (item != null && addIndexedItem(menu, item)) {
+            return item.getName();
         }
-        // Fallback: click first visible ADD matching item context
-        try {
-            WebElement anyAdd = driver.findElement(By.xpath("(//button[contains(translate(., 'ABCDEFGHIJKLMNOPQRSTUVWXYZ','abcdefghijklmnopqrstuvwxyz'),'add')])[1]"));
-            ((JavascriptExecutor) driver).executeScript("arguments[0].click();", anyAdd);
-            Thread.sleep(1000);
-            handleCustomizationModalIfAny();
-            return true;
-        } catch (Exception ignore) {}
-        return false;
+        // Nearest menu card around the item's text
+        WebElement card = TextIndex.find(driver, itemName,
+            "[data-testid='menu-item'], [role='listitem'], div[class*='item'], div[class*='dish'], "
+                + "div[class*='_1HEo8'], div[class*='_3IlBn'], div[class*='_1gURR'], div[class*='_2xK7I']");
+        if (card != null) {
+            ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView({block:'center'});", card);
+            settle(600);
+            // Find ADD within the card
+            String[] addButtonSel = {
+                ".//button[contains(translate(., 'ABCDEFGHIJKLMNOPQRSTUVWXYZ','abcdefghijklmnopqrstuvwxyz'),'add')]",
+                ".//div[contains(translate(., 'ABCDEFGHIJKLMNOPQRSTUVWXYZ','abcdefghijklmnopqrstuvwxyz'),'add') and @role='button']",
+                ".//span[contains(translate(., 'ABCDEFGHIJKLMNOPQRSTUVWXYZ','abcdefghijklmnopqrstuvwxyz'),'add')]/parent::button"
+            };
+            SelectorCascade.Match addMatch = SelectorCascade.resolveWithin(driver, selectorStats, "add_button", card, addButtonSel);
+            if (addMatch != null) {
+                WebElement add = addMatch.getElement();
+                try { add.click(); } catch (Exception e) { ((JavascriptExecutor) driver).executeScript("arguments[0].click();", add); }
+                settle(1200);
+                handleCustomizationModalIfAny();
+                return item != null ? item.getName() : itemName;
+            }
+        }
+        // No card for this dish; the caller picks another one and reports that name instead
+        return null;
+    }
+
+    private boolean addIndexedItem(MenuIndex menu, MenuItem item) {
+        WebElement add = menu.addButton(driver, item);
+        if (add == null) {
+            return false;
+        }
+        ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView({block:'center'});", add);
+        try { add.click(); } catch (Exception e) { ((JavascriptExecutor) driver).executeScript("arguments[0].click();", add); }
+        System.out.println("   ✓ Clicked ADD for " + item);
+        settle(1200);
+        handleCustomizationModalIfAny();
+        return true;
     }
 
     // Wait until cart reflects at least 1 item (View Cart visible or a badge > 0)
-    private static boolean waitForCartHasItems(int timeoutSec) {
+    private boolean waitForCartHasItems(int timeoutSec) {
         long end = System.currentTimeMillis() + timeoutSec * 1000L;
         while (System.currentTimeMillis() < end) {
             try {
                 // View Cart visible
-                List<WebElement> vc = driver.findElements(By.xpath("//*[contains(translate(., 'ABCDEFGHIJKLMNOPQRSTUVWXYZ','abcdefghijklmnopqrstuvwxyz'),'view cart')]"));
-                if (!vc.isEmpty() && vc.get(0).isDisplayed()) return true;
+                if (TextIndex.existsExact(driver, "view cart", null)) return true;
                 // Badge count > 0
                 WebElement badge = driver.findElement(By.xpath("//*[contains(@class,'cart') or contains(@data-testid,'cart')]//*[contains(text(),'1') or contains(text(),'2') or contains(text(),'3') or contains(text(),'4') or contains(text(),'5')]"));
                 if (badge != null && badge.isDisplayed()) return true;
             } catch (Exception ignored) {}
+            report.beginWait();
+            long slept = System.currentTimeMillis();
             try { Thread.sleep(500); } catch (InterruptedException ie) { Thread.currentThread().interrupt(); }
+            report.recordWait(500, System.currentTimeMillis() - slept);
         }
         return false;
     }
 
-    private static String selectFoodItemAndAddToCart(String preferredItem) {
-        String selectedItemName = preferredItem != null ? preferredItem : "Unknown Item";
+    private String selectFoodItemAndAddToCart(String preferredItem) {
+        String selectedItemName = "Unknown Item";
         try {
             waitForMenuToLoad();
-            Thread.sleep(1500);
+            settle(1500);
             takeScreenshot("menu_loaded");
 
-            boolean added = false;
+            // Every dish, lazily rendered sections included, in one script call
+            long indexBudget = Long.parseLong(config.getProperty("menu.index.budget.ms", "8000"));
+            MenuIndex menu = MenuIndex.build(driver, indexBudget);
+            System.out.println("   📋 Indexed " + menu.size() + " dishes in " + menu.getElapsedMillis() + " ms");
+            report.put("menu_dishes", String.valueOf(menu.size()));
+
+            // Only the name of the dish actually clicked is reported
+            String added = null;
             if (preferredItem != null && !preferredItem.isEmpty()) {
                 System.out.println("   🎯 Trying to add specific item: " + preferredItem);
-                added = addItemByName(preferredItem);
-                if (added) selectedItemName = preferredItem;
+                added = addItemByName(menu, preferredItem);
+            }
+
+            // Otherwise the second dish, as the generic selection below would pick
+            if (added == null && menu.size() > 0) {
+                MenuItem item = menu.getItems().get(Math.min(1, menu.size() - 1));
+                System.out.println("   🍕 Adding from the menu index: " + item);
+                if (addIndexedItem(menu, item)) added = item.getName();
             }
 
-            if (!added) {
+            if (added == null) {
                 // Fallback to previous generic selection
                 String fallback = selectFoodItemAndAddToCart();
-                if (!"Unknown Item".equals(fallback)) selectedItemName = fallback;
+                if (!"Unknown Item".equals(fallback)) added = fallback;
             }
+            if (added != null) selectedItemName = added;
 
             if (!waitForCartHasItems(12)) {
-                System.out.println("   ⚠️ Cart not updated after add; retrying once with scroll...");
-                ((JavascriptExecutor) driver).executeScript("window.scrollBy(0,300);");
-                Thread.sleep(800);
-                if (preferredItem != null) {
-                    addItemByName(preferredItem);
+                System.out.println("   ⚠️ Cart not updated after add; retrying once with a fresh menu index...");
+                String retried = addItemByName(MenuIndex.build(driver, indexBudget), added != null ? added : preferredItem);
+                if (retried != null) selectedItemName = retried;
+                if (!waitForCartHasItems(8)) {
+                    throw new IllegalStateException("Cart still empty after adding " + selectedItemName);
                 }
-                waitForCartHasItems(8);
             }
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
             System.out.println("   ⚠️ Error selecting specific food item: " + e.getMessage());
             takeScreenshot("food_item_specific_error");
+            throw e;
         }
         return selectedItemName;
     }
 
     // Keep original fallback method for generic add
-    private static String selectFoodItemAndAddToCart() {
+    private String selectFoodItemAndAddToCart() {
         String selectedItemName = "Unknown Item";
 
         try {
             System.out.println("   🍕 Looking for food items on menu...");
-            Thread.sleep(5000);
+            settle(5000);
 
             // Enhanced food item selectors for Swiggy
             String[] foodItemSelectors = {
@@ -889,7 +1047,7 @@ public class SwiggyAutomationFixed {
             if (selectedFoodItem != null) {
                 // Scroll to the food item
                 ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", selectedFoodItem);
-                Thread.sleep(2000);
+                settle(2000);
                 takeScreenshot("food_item_found");
 
                 // Look for ADD button near the selected item
@@ -908,55 +1066,44 @@ public class SwiggyAutomationFixed {
                 WebElement addButton = null;
 
                 // First try to find ADD button within the selected item
-                for (String addSelector : addButtonSelectors) {
-                    try {
-                        addButton = selectedFoodItem.findElement(By.xpath(addSelector));
-                        if (addButton.isDisplayed() && addButton.isEnabled()) {
-                            System.out.println("   ✓ Found ADD button within selected item");
-                            break;
-                        }
-                    } catch (Exception e) {
-                        continue;
-                    }
+                SelectorCascade.Match addMatch = SelectorCascade.resolveWithin(driver, selectorStats, "add_button", selectedFoodItem, addButtonSelectors);
+                if (addMatch != null) {
+                    addButton = addMatch.getElement();
+                    System.out.println("   ✓ Found ADD button within selected item");
                 }
 
                 // If not found within item, look in the broader context
                 if (addButton == null) {
-                    for (String addSelector : addButtonSelectors) {
-                        try {
-                            List<WebElement> addButtons = driver.findElements(By.xpath(addSelector.substring(2))); // Remove "./"
-                            if (!addButtons.isEmpty()) {
-                                addButton = addButtons.get(0); // Get first available ADD button
-                                if (addButton.isDisplayed() && addButton.isEnabled()) {
-                                    System.out.println("   ✓ Found ADD button on page");
-                                    break;
-                                }
-                            }
-                        } catch (Exception e) {
-                            continue;
-                        }
+                    String[] pageAddSelectors = new String[addButtonSelectors.length];
+                    for (int i = 0; i < addButtonSelectors.length; i++) {
+                        pageAddSelectors[i] = addButtonSelectors[i].substring(1); // ".//x" -> "//x"
+                    }
+                    SelectorCascade.Match pageMatch = SelectorCascade.resolveEnabled(driver, selectorStats, "add_button_page", pageAddSelectors);
+                    if (pageMatch != null) {
+                        addButton = pageMatch.getElement();
+                        System.out.println("   ✓ Found ADD button on page");
                     }
                 }
 
                 if (addButton != null) {
                     try {
                         ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", addButton);
-                        Thread.sleep(1000);
+                        settle(1000);
                         addButton.click();
                         System.out.println("   ✓ Food item added to cart successfully");
-                        Thread.sleep(1000);
+                        settle(1000);
                         // If a customization modal appears, confirm Add
                         handleCustomizationModalIfAny();
-                        Thread.sleep(2000);
+                        settle(2000);
                         takeScreenshot("item_added_to_cart");
 
                     } catch (Exception e) {
                         // Try JavaScript click if normal click fails
                         ((JavascriptExecutor) driver).executeScript("arguments[0].click();", addButton);
                         System.out.println("   ✓ Food item added to cart using JavaScript click");
-                        Thread.sleep(1000);
+                        settle(1000);
                         handleCustomizationModalIfAny();
-                        Thread.sleep(1500);
+                        settle(1500);
                         takeScreenshot("item_added_to_cart_js");
                     }
                 } else {
@@ -976,39 +1123,36 @@ public class SwiggyAutomationFixed {
         return selectedItemName;
     }
 
-    private static void handleCustomizationModalIfAny() {
+    private void handleCustomizationModalIfAny() {
         try {
             String[] modalAddSelectors = {
-                "//div[contains(@role,'dialog')]//button[contains(translate(., 'ABCDEFGHIJKLMNOPQRSTUVWXYZ', 'abcdefghijklmnopqrstuvwxyz'),'add')]",
                 "//div[contains(@class,'modal') or contains(@class,'Dialog') or contains(@class,'overlay')]//button[contains(.,'Add')]",
                 "//button[contains(.,'Add item') or contains(.,'ADD ITEM') or contains(.,'Add to cart')]"
             };
-            for (String s : modalAddSelectors) {
-                try {
-                    List<WebElement> modalButtons = driver.findElements(By.xpath(s));
-                    if (!modalButtons.isEmpty()) {
-                        WebElement btn = modalButtons.get(0);
-                        ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", btn);
-                        Thread.sleep(300);
-                        try { btn.click(); } catch (Exception e) { ((JavascriptExecutor) driver).executeScript("arguments[0].click();", btn); }
-                        System.out.println("   ✓ Confirmed add in customization modal");
-                        return;
-                    }
-                } catch (Exception ignored) {}
+            // Dialog ADD button through the text index first, the class-based fallbacks after it
+            WebElement btn = TextIndex.find(driver, "add", "[role*='dialog'] button");
+            if (btn == null) {
+                SelectorCascade.Match modalMatch = SelectorCascade.resolve(driver, modalAddSelectors);
+                btn = modalMatch != null ? modalMatch.getElement() : null;
+            }
+            if (btn != null) {
+                ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", btn);
+                settle(300);
+                try { btn.click(); } catch (Exception e) { ((JavascriptExecutor) driver).executeScript("arguments[0].click();", btn); }
+                System.out.println("   ✓ Confirmed add in customization modal");
             }
         } catch (Exception ignored) {}
     }
 
-    private static void proceedToCart() {
+    private void proceedToCart() {
         try {
             System.out.println("   🛒 Looking for cart...");
-            Thread.sleep(3000);
+            settle(3000);
 
             // Guard: only proceed if cart shows at least one item
             if (!waitForCartHasItems(5)) {
-                System.out.println("   ⚠️ No items detected in cart yet; skipping cart open.");
                 takeScreenshot("cart_empty_before_open");
-                return;
+                throw new IllegalStateException("No items detected in cart");
             }
 
             // Look for "View Cart" or cart icon
@@ -1022,32 +1166,27 @@ public class SwiggyAutomationFixed {
                 "//*[contains(@data-testid,'cart')]"
             };
 
-            for (String selector : cartSelectors) {
-                try {
-                    WebElement cartElement = driver.findElement(By.xpath(selector));
-                    if (cartElement.isDisplayed()) {
-                        cartElement.click();
-                        System.out.println("   ✓ Navigated to cart");
-                        Thread.sleep(3000);
-                        return;
-                    }
-                } catch (Exception e) {
-                    continue;
-                }
+            SelectorCascade.Match cartMatch = SelectorCascade.resolve(driver, selectorStats, "cart", cartSelectors);
+            if (cartMatch != null) {
+                cartMatch.getElement().click();
+                System.out.println("   ✓ Navigated to cart");
+                settle(3000);
+                return;
             }
 
             System.out.println("   ℹ️ Cart button not found, may already be in cart");
 
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
             System.out.println("   ⚠️ Error proceeding to cart: " + e.getMessage());
             takeScreenshot("cart_error");
+            throw e;
         }
     }
 
-    private static void proceedToCheckout() {
+    private void proceedToCheckout() {
         try {
             System.out.println("   📋 Looking for checkout button...");
-            Thread.sleep(3000);
+            settle(3000);
 
             // Navigate to checkout - look for checkout button
             String[] checkoutSelectors = {
@@ -1058,31 +1197,26 @@ public class SwiggyAutomationFixed {
                 "//div[contains(text(),'Checkout')][@role='button']"
             };
 
-            for (String selector : checkoutSelectors) {
-                try {
-                    WebElement checkoutButton = driver.findElement(By.xpath(selector));
-                    if (checkoutButton.isDisplayed()) {
-                        checkoutButton.click();
-                        System.out.println("   ✓ Proceeded to checkout");
-                        Thread.sleep(5000);
-                        return;
-                    }
-                } catch (Exception e) {
-                    continue;
-                }
+            SelectorCascade.Match checkoutMatch = SelectorCascade.resolve(driver, checkoutSelectors);
+            if (checkoutMatch != null) {
+                checkoutMatch.getElement().click();
+                System.out.println("   ✓ Proceeded to checkout");
+                settle(5000);
+                return;
             }
 
             System.out.println("   ℹ️ Checkout button not found, may already be in checkout");
 
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
             System.out.println("   ⚠️ Error proceeding to checkout: " + e.getMessage());
+            throw e;
         }
     }
 
-    private static void enterDeliveryAddress() {
+    private void enterDeliveryAddress() {
         try {
             System.out.println("   📍 Looking for address selection...");
-            Thread.sleep(5000);
+            settle(5000);
 
             // First try to select existing address
             String[] addressSelectors = {
@@ -1092,19 +1226,13 @@ public class SwiggyAutomationFixed {
                 "//div[contains(@class,'address-card')]//button"
             };
 
-            for (String selector : addressSelectors) {
-                try {
-                    List<WebElement> addressButtons = driver.findElements(By.xpath(selector));
-                    if (!addressButtons.isEmpty()) {
-                        addressButtons.get(0).click();
-                        System.out.println("   ✓ Selected existing delivery address");
-                        Thread.sleep(3000);
-                        takeScreenshot("address_selected");
-                        return;
-                    }
-                } catch (Exception e) {
-                    continue;
-                }
+            SelectorCascade.Match addressMatch = SelectorCascade.resolve(driver, addressSelectors);
+            if (addressMatch != null) {
+                addressMatch.getElement().click();
+                System.out.println("   ✓ Selected existing delivery address");
+                settle(3000);
+                takeScreenshot("address_selected");
+                return;
             }
 
             // If no existing address, try to add new address
@@ -1114,31 +1242,26 @@ public class SwiggyAutomationFixed {
                 "//button[contains(text(),'Add Address')]"
             };
 
-            for (String selector : addAddressSelectors) {
-                try {
-                    WebElement addAddressButton = driver.findElement(By.xpath(selector));
-                    if (addAddressButton.isDisplayed()) {
-                        addAddressButton.click();
-                        System.out.println("   ✓ Clicked add new address");
-                        Thread.sleep(3000);
-
-                        // Fill address form
-                        fillAddressForm();
-                        return;
-                    }
-                } catch (Exception e) {
-                    continue;
-                }
+            SelectorCascade.Match addAddressMatch = SelectorCascade.resolve(driver, addAddressSelectors);
+            if (addAddressMatch != null) {
+                addAddressMatch.getElement().click();
+                System.out.println("   ✓ Clicked add new address");
+                settle(3000);
+
+                // Fill address form
+                fillAddressForm();
+                return;
             }
 
             System.out.println("   ℹ️ Address handling completed");
 
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
             System.out.println("   ⚠️ Error entering delivery address: " + e.getMessage());
+            throw e;
         }
     }
 
-    private static void fillAddressForm() {
+    private void fillAddressForm() {
         try {
             // Fill basic address fields
             String[] addressFieldSelectors = {
@@ -1148,19 +1271,13 @@ public class SwiggyAutomationFixed {
                 "//input[@name='address']"
             };
 
-            for (String selector : addressFieldSelectors) {
-                try {
-                    WebElement addressField = driver.findElement(By.xpath(selector));
-                    if (addressField.isDisplayed()) {
-                        addressField.clear();
-                        addressField.sendKeys("123, 2nd Main, 3rd Cross, Whitefield, Bangalore");
-                        System.out.println("   ✓ Delivery address entered");
-                        Thread.sleep(2000);
-                        break;
-                    }
-                } catch (Exception e) {
-                    continue;
-                }
+            SelectorCascade.Match fieldMatch = SelectorCascade.resolve(driver, addressFieldSelectors);
+            if (fieldMatch != null) {
+                WebElement addressField = fieldMatch.getElement();
+                addressField.clear();
+                addressField.sendKeys("123, 2nd Main, 3rd Cross, Whitefield, Bangalore");
+                System.out.println("   ✓ Delivery address entered");
+                settle(2000);
             }
 
             // Try to save address
@@ -1171,29 +1288,23 @@ public class SwiggyAutomationFixed {
                 "//button[contains(text(),'CONFIRM')]"
             };
 
-            for (String selector : saveSelectors) {
-                try {
-                    WebElement saveButton = driver.findElement(By.xpath(selector));
-                    if (saveButton.isDisplayed()) {
-                        saveButton.click();
-                        System.out.println("   ✓ Address saved");
-                        Thread.sleep(3000);
-                        break;
-                    }
-                } catch (Exception e) {
-                    continue;
-                }
+            SelectorCascade.Match saveMatch = SelectorCascade.resolve(driver, saveSelectors);
+            if (saveMatch != null) {
+                saveMatch.getElement().click();
+                System.out.println("   ✓ Address saved");
+                settle(3000);
             }
 
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
             System.out.println("   ⚠️ Error filling address form: " + e.getMessage());
+            throw e;
         }
     }
 
-    private static void proceedToPayment() {
+    private void proceedToPayment() {
         try {
             System.out.println("   💳 Looking for payment options...");
-            Thread.sleep(5000);
+            settle(5000);
 
             // Navigate to payment - look for payment button
             String[] paymentSelectors = {
@@ -1204,42 +1315,93 @@ public class SwiggyAutomationFixed {
                 "//button[contains(@class,'payment')]"
             };
 
-            for (String selector : paymentSelectors) {
-                try {
-                    WebElement paymentButton = driver.findElement(By.xpath(selector));
-                    if (paymentButton.isDisplayed()) {
-                        paymentButton.click();
-                        System.out.println("   ✓ Proceeded to payment");
-                        Thread.sleep(5000);
-                        return;
-                    }
-                } catch (Exception e) {
-                    continue;
-                }
+            SelectorCascade.Match paymentMatch = SelectorCascade.resolve(driver, paymentSelectors);
+            if (paymentMatch != null) {
+                paymentMatch.getElement().click();
+                System.out.println("   ✓ Proceeded to payment");
+                settle(5000);
+                return;
             }
 
             System.out.println("   ℹ️ Payment button not found, may already be on payment page");
 
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
             System.out.println("   ⚠️ Error proceeding to payment: " + e.getMessage());
+            throw e;
         }
     }
 
-    private static void printFinalLogs(String restaurantName, String selectedItem) {
-        System.out.println("\n=== FINAL LOGS ===");
-        System.out.println("Restaurant Name: " + restaurantName);
-        System.out.println("Selected Item: " + selectedItem);
-        System.out.println("====================");
+    // Fails the current step unless the page classifies as one of the expected states
+    private PageStateClassifier.Snapshot requireState(PageStateClassifier.State... expected) {
+        PageStateClassifier.Snapshot page = PageStateClassifier.classify(driver);
+        for (PageStateClassifier.State state : expected) {
+            if (page.is(state)) {
+                return page;
+            }
+        }
+        throw new IllegalStateException("Expected " + Arrays.toString(expected) + " but page is " + page.getState()
+            + " at " + page.getUrl());
+    }
+
+    // Failure artifacts follow the report's step outcome: the failed page, its DOM and the frames that led to it
+    private void onStepFailed(RunReport.StepRecord step, Exception error) {
+        String name = step.getName() + "_failed";
+        takeScreenshot(name);
+        try {
+            ScreenshotWriter writer = ScreenshotWriter.shared();
+            if (writer.isPacked()) {
+                // DOM snapshot next to the failure frame
+                writer.submit(Paths.get("screenshots/" + ctx.getName() + "_" + System.currentTimeMillis() + "_" + name + ".html"),
+                    ctx.getRunId(), name, "html", driver.getPageSource().getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.out.println("   ⚠️ Could not store failure artifacts: " + e.getMessage());
+        }
+        dumpFrameRing("Step " + step.getName() + " failed");
+    }
+
+    // Failure-only mode: writes the frames buffered since the last dump; dump() empties the ring, so none is written twice
+    private void dumpFrameRing(String reason) {
+        if (frameRing == null) {
+            return;
+        }
+        try {
+            System.out.println("   ✓ " + reason + ", wrote " + frameRing.dump() + " recent screenshots");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Stack trace of a failed flow as a log artifact, when screenshots go to the artifact store
+    private void storeFailureLog(Exception e) {
+        if (!ScreenshotWriter.shared().isPacked()) {
+            return;
+        }
+        StringWriter trace = new StringWriter();
+        e.printStackTrace(new PrintWriter(trace));
+        try {
+            ScreenshotWriter.shared().submit(Paths.get("screenshots/" + ctx.getName() + "_error.log"), ctx.getRunId(),
+                "error_log", "log", trace.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
     }
 
-    private static void takeScreenshot(String step) {
+    private void takeScreenshot(String step) {
         try {
             // Define screenshot file name
-            String fileName = "screenshots/" + System.currentTimeMillis() + "_" + step + ".png";
+            String fileName = "screenshots/" + ctx.getName() + "_" + System.currentTimeMillis() + "_" + step + ".png";
 
-            // Take screenshot
-            File srcFile = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-            FileUtils.copyFile(srcFile, new File(fileName));
+            // Capture as bytes; the background writer puts them on disk
+            byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            if (frameRing != null) {
+                // Keep it in memory; the recent history is only written when a step fails
+                frameRing.add(Paths.get(fileName), ctx.getRunId(), step, png);
+                return;
+            }
+            ScreenshotWriter.shared().submit(Paths.get(fileName), ctx.getRunId(), step, "png", png);
 
             System.out.println("   ✓ Screenshot taken: " + fileName);
         } catch (Exception e) {
@@ -1248,57 +1410,48 @@ public class SwiggyAutomationFixed {
     }
 
     // Open first restaurant on listing and return its name if possible
-    private static String openFirstRestaurantAndGetName() {
+    private String openFirstRestaurantAndGetName() {
         String name = "Unknown Restaurant";
         try {
-            // Reuse the selectors from selectAnyAvailableRestaurant but pick the first visible
-            String[] restaurantSelectors = {
-                "//div[contains(@class,'_1MIkP')]//a[contains(@href,'restaurants')]",
-                "//a[contains(@href,'restaurants/') and contains(@href,'-')]",
-                "//*[@data-testid='restaurant-card']//a",
-                "//div[contains(@class,'styles_listingCard')]//a",
-                "//a[contains(@href,'/restaurants') and not(contains(@href,'/restaurants$'))]"
-            };
-
-            for (String selector : restaurantSelectors) {
-                try {
-                    List<WebElement> links = driver.findElements(By.xpath(selector));
-                    for (WebElement link : links) {
-                        if (link.isDisplayed() && link.isEnabled()) {
-                            ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", link);
-                            Thread.sleep(400);
-                            try { link.click(); } catch (Exception e) { ((JavascriptExecutor) driver).executeScript("arguments[0].click();", link); }
-                            Thread.sleep(4000);
-                            takeScreenshot("restaurant_selected");
-                            // Try to get restaurant name
-                            String[] nameSelectors = {
-                                "//*[@data-testid='restaurant-name']",
-                                "//h1",
-                                "//h2"
-                            };
-                            for (String ns : nameSelectors) {
-                                try {
-                                    WebElement n = driver.findElement(By.xpath(ns));
-                                    if (n.isDisplayed()) {
-                                        String t = n.getText();
-                                        if (t != null && !t.trim().isEmpty()) { name = t.trim(); }
-                                        break;
-                                    }
-                                } catch (Exception ignore) {}
-                            }
-                            if ("Unknown Restaurant".equals(name)) {
-                                String title = driver.getTitle();
-                                if (title != null && !title.trim().isEmpty()) name = title.replace("Menu", "").replace("—", "-").split("-")[0].trim();
-                            }
-                            return name;
-                        }
-                    }
-                } catch (Exception ignore) {}
+            // One script call for the whole listing; the choice itself is made in Java
+            long start = System.currentTimeMillis();
+            List<RestaurantCard> cards = ListingExtractor.extract(driver);
+            String strategy = config.getProperty("test.restaurant.pick", "first");
+            RestaurantCard card = ListingExtractor.pick(cards, strategy);
+            System.out.println("   🔍 Extracted " + cards.size() + " restaurant cards in "
+                + (System.currentTimeMillis() - start) + " ms");
+            if (card != null) {
+                System.out.println("   ✓ Picked (" + strategy + "): " + card);
+                openRestaurant(card);
+                takeScreenshot("restaurant_selected");
+                if (card.getRating() >= 0) {
+                    report.put("restaurant_rating", String.valueOf(card.getRating()));
+                }
+                if (!card.getName().isEmpty()) {
+                    return card.getName();
+                }
+                // Card without a readable name: fall back to the menu page heading or title
+                String[] nameSelectors = {
+                    "//*[@data-testid='restaurant-name']",
+                    "//h1",
+                    "//h2"
+                };
+                SelectorCascade.Match nameMatch = SelectorCascade.resolve(driver, nameSelectors);
+                if (nameMatch != null) {
+                    String t = nameMatch.getElement().getText();
+                    if (t != null && !t.trim().isEmpty()) { name = t.trim(); }
+                }
+                if ("Unknown Restaurant".equals(name)) {
+                    String title = driver.getTitle();
+                    if (title != null && !title.trim().isEmpty()) name = title.replace("Menu", "").replace("—", "-").split("-")[0].trim();
+                }
+                return name;
             }
-            System.out.println("   ⚠️ Could not open a restaurant via known selectors");
-        } catch (Exception e) {
+            takeScreenshot("no_restaurant_card");
+            throw new IllegalStateException("No restaurant card on the listing");
+        } catch (RuntimeException e) {
             System.out.println("   ⚠️ Error opening restaurant: " + e.getMessage());
+            throw e;
         }
-        return name;
     }
 }
@@ -9,28 +9,25 @@ import java.util.List;
 public class SwiggyAutomationUtils {
 
     public static WebElement findElementWithMultipleSelectors(WebDriver driver, String... xpaths) {
-        for (String xpath : xpaths) {
-            try {
-                List<WebElement> elements = driver.findElements(By.xpath(xpath));
-                if (!elements.isEmpty() && elements.get(0).isDisplayed()) {
-                    return elements.get(0);
-                }
-            } catch (Exception e) {
-                // Continue to next selector
-            }
+        // Whole fallback chain is evaluated in the browser in one round trip
+        SelectorCascade.Match match = SelectorCascade.resolve(driver, xpaths);
+        if (match != null) {
+            return match.getElement();
         }
         throw new NoSuchElementException("Could not find element with any of the provided selectors");
     }
 
     public static WebElement waitAndFindElement(WebDriverWait wait, String... xpaths) {
-        for (String xpath : xpaths) {
-            try {
-                return wait.until(ExpectedConditions.presenceOfElementLocated(By.xpath(xpath)));
-            } catch (Exception e) {
-                // Continue to next selector
-            }
+        // All candidates race under the wait's single timeout instead of each getting the full timeout in turn
+        long start = System.currentTimeMillis();
+        try {
+            SelectorCascade.Match match = wait.until(d -> SelectorCascade.resolvePresent(d, xpaths));
+            System.out.println("   ⏱ Found element with selector #" + (match.getIndex() + 1)
+                + " after " + (System.currentTimeMillis() - start) + " ms: " + match.getSelector());
+            return match.getElement();
+        } catch (TimeoutException e) {
+            throw new NoSuchElementException("Could not find element with any of the provided selectors within timeout");
         }
-        throw new NoSuchElementException("Could not find element with any of the provided selectors within timeout");
     }
 
     public static void safeClick(WebDriver driver, WebElement element) {
@@ -0,0 +1,123 @@
+package org.example;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Case-insensitive text lookups without document-wide translate() XPath scans.
+ * An index from normalized text (lower case, whitespace collapsed) to the elements that own that text is
+ * injected once per document. A MutationObserver queues changed subtrees and the queue is applied at the
+ * next lookup, so each lookup costs one executeScript round trip and, for substring queries, a scan of the
+ * distinct texts on the page rather than a walk and lowercase of the whole DOM; exact queries are a map lookup.
+ * <p>
+ * {@code closest} is a CSS selector applied with Element.closest() to each text owner, so
+ * {@code find(driver, "add", "button")} returns the button around an "ADD" label and
+ * {@code find(driver, "veg loaded", "[data-testid='menu-item']")} the menu card holding that dish.
+ */
+public class TextIndex {
+
+    // Installs the index once per document; arguments: query, exact, closest, root, limit
+    private static final String LOOKUP_SCRIPT =
+        "var w = window;" +
+        "if (!w.__swgText) {" +
+        "  var skip = {SCRIPT: 1, STYLE: 1, NOSCRIPT: 1, TEMPLATE: 1};" +
+        "  var ix = w.__swgText = {byText: new Map(), keyOf: new WeakMap(), dirty: new Set()};" +
+        "  ix.norm = function(s) { return s.replace(/\\s+/g, ' ').trim().toLowerCase(); };" +
+        "  ix.own = function(el) {" +
+        "    var s = '';" +
+        "    for (var n = el.firstChild; n; n = n.nextSibling) { if (n.nodeType === 3) s += n.data + ' '; }" +
+        "    return ix.norm(s);" +
+        "  };" +
+        "  ix.put = function(el) {" +
+        "    if (el.nodeType !== 1 || skip[el.tagName]) return;" +
+        "    var old = ix.keyOf.get(el), key = ix.own(el);" +
+        "    if (old === key) return;" +
+        "    if (old !== undefined) { var set = ix.byText.get(old); if (set) { set.delete(el); if (!set.size) ix.byText.delete(old); } }" +
+        "    if (key) {" +
+        "      if (!ix.byText.has(key)) ix.byText.set(key, new Set());" +
+        "      ix.byText.get(key).add(el); ix.keyOf.set(el, key);" +
+        "    } else { ix.keyOf.delete(el); }" +
+        "  };" +
+        "  ix.walk = function(root) {" +
+        "    if (root.nodeType === 3) { if (root.parentElement) ix.put(root.parentElement); return; }" +
+        "    if (root.nodeType !== 1) return;" +
+        "    ix.put(root);" +
+        "    var all = root.getElementsByTagName('*');" +
+        "    for (var i = 0; i < all.length; i++) ix.put(all[i]);" +
+        "  };" +
+        "  ix.flush = function() {" +
+        "    var nodes = Array.from(ix.dirty); ix.dirty.clear();" +
+        "    for (var i = 0; i < nodes.length; i++) { if (nodes[i].isConnected) ix.walk(nodes[i]); }" +
+        "  };" +
+        "  new MutationObserver(function(records) {" +
+        "    for (var i = 0; i < records.length; i++) {" +
+        "      var r = records[i];" +
+        "      if (r.type === 'characterData') { if (r.target.parentElement) ix.dirty.add(r.target.parentElement); continue; }" +
+        "      ix.dirty.add(r.target);" +
+        "      for (var j = 0; j < r.addedNodes.length; j++) ix.dirty.add(r.addedNodes[j]);" +
+        "    }" +
+        "  }).observe(document.documentElement, {childList: true, subtree: true, characterData: true});" +
+        "  ix.walk(document.documentElement);" +
+        "}" +
+        "var ix = w.__swgText; ix.flush();" +
+        "var q = ix.norm(arguments[0]), exact = arguments[1], closest = arguments[2], root = arguments[3], limit = arguments[4];" +
+        "var visible = function(el) {" +
+        "  if (!el.getClientRects().length) return false;" +
+        "  var cs = window.getComputedStyle(el);" +
+        "  return cs.visibility !== 'hidden' && cs.display !== 'none';" +
+        "};" +
+        "var out = [], seen = new Set();" +
+        "var take = function(owners) {" +
+        "  for (var el of owners) {" +
+        "    if (!el.isConnected) { owners.delete(el); continue; }" +
+        "    var hit = closest ? el.closest(closest) : el;" +
+        "    if (!hit || seen.has(hit) || (root && !root.contains(hit)) || !visible(hit)) continue;" +
+        "    seen.add(hit); out.push(hit);" +
+        "    if (out.length >= limit) return true;" +
+        "  }" +
+        "  return false;" +
+        "};" +
+        // Exact text is one map lookup; only substring queries scan the distinct texts
+        "if (exact) { var owners = ix.byText.get(q); if (owners) take(owners); return out; }" +
+        "for (var entry of ix.byText) {" +
+        "  if (entry[0].indexOf(q) >= 0 && take(entry[1])) return out;" +
+        "}" +
+        "return out;";
+
+    /** First visible element whose own text contains {@code text}, mapped through {@code closest}; or null. */
+    public static WebElement find(WebDriver driver, String text, String closest) {
+        List<WebElement> found = lookup(driver, text, false, closest);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    /** Like {@link #find} but the normalized text must match exactly: one map lookup instead of a scan. */
+    public static WebElement findExact(WebDriver driver, String text, String closest) {
+        List<WebElement> found = lookup(driver, text, true, closest);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    /** Whether a whole label such as "View Cart" is visible; an exact lookup, so no scan of the index. */
+    public static boolean existsExact(WebDriver driver, String text, String closest) {
+        return findExact(driver, text, closest) != null;
+    }
+
+    private static List<WebElement> lookup(WebDriver driver, String text, boolean exact, String closest) {
+        List<WebElement> found = new ArrayList<>();
+        try {
+            // First visible match anywhere in the document
+            Object result = ((JavascriptExecutor) driver).executeScript(LOOKUP_SCRIPT, text, exact, closest, null, 1);
+            if (result instanceof List) {
+                for (Object o : (List<?>) result) {
+                    found.add((WebElement) o);
+                }
+            }
+        } catch (Exception e) {
+            // Page navigating or script blocked; callers treat it as no match
+        }
+        return found;
+    }
+}
@@ -0,0 +1,99 @@
+package org.example;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * How a flow waits for the page to settle after an action. The flow asks for a settle with a time budget;
+ * the strategy decides how much of it is actually spent:
+ * <ul>
+ *   <li>FIXED: sleeps the full budget (the original Thread.sleep behaviour)</li>
+ *   <li>IMPLICIT: returns at once and relies on the driver's implicit wait inside findElement
+ *       (as SwiggyAutomation.initializeWebDriver configures it)</li>
+ *   <li>EXPLICIT: WebDriverWait polling until the document is complete and its element count stops changing</li>
+ *   <li>EVENT: MutationObserver and network probe, see {@link DomQuiescence}</li>
+ * </ul>
+ */
+public enum WaitStrategy {
+    FIXED, IMPLICIT, EXPLICIT, EVENT;
+
+    private static final Duration EXPLICIT_POLL = Duration.ofMillis(250);
+
+    private static final String DOCUMENT_STATE_SCRIPT =
+        "return [document.readyState, document.getElementsByTagName('*').length];";
+
+    /**
+     * {@code wait.strategy} (or -Dwait.strategy); without it, {@code wait.quiet.enabled} picks EVENT or FIXED.
+     * An unknown name is reported and falls back to that same default.
+     */
+    public static WaitStrategy fromConfig(Properties config) {
+        String name = System.getProperty("wait.strategy", config.getProperty("wait.strategy", "")).trim();
+        WaitStrategy fallback = Boolean.parseBoolean(config.getProperty("wait.quiet.enabled", "true")) ? EVENT : FIXED;
+        if (name.isEmpty()) {
+            return fallback;
+        }
+        for (WaitStrategy strategy : values()) {
+            if (strategy.name().equals(name.toUpperCase(Locale.ROOT))) {
+                return strategy;
+            }
+        }
+        System.out.println("   ⚠️ Unknown wait.strategy '" + name + "' (expected one of "
+            + Arrays.toString(values()).toLowerCase(Locale.ROOT) + "), using " + fallback.name().toLowerCase(Locale.ROOT));
+        return fallback;
+    }
+
+    /** Applies driver-level settings the strategy depends on; only IMPLICIT uses an implicit wait. */
+    public void prepare(WebDriver driver, Properties config) {
+        Duration implicit = this == IMPLICIT
+            ? Duration.ofSeconds(Long.parseLong(config.getProperty("browser.implicit.wait", "10")))
+            : Duration.ZERO;
+        driver.manage().timeouts().implicitlyWait(implicit);
+    }
+
+    /**
+     * Waits for the page to settle, spending at most {@code budgetMs}.
+     * @return milliseconds actually spent waiting
+     */
+    public long settle(WebDriver driver, long quietWindowMs, long budgetMs) {
+        long start = System.currentTimeMillis();
+        switch (this) {
+            case FIXED:
+                try {
+                    Thread.sleep(budgetMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                break;
+            case IMPLICIT:
+                break;
+            case EXPLICIT:
+                awaitStableDocument(driver, budgetMs);
+                break;
+            case EVENT:
+                return DomQuiescence.awaitQuiet(driver, Math.min(quietWindowMs, budgetMs), budgetMs);
+        }
+        return System.currentTimeMillis() - start;
+    }
+
+    private static void awaitStableDocument(WebDriver driver, long budgetMs) {
+        long[] lastCount = { -1 };
+        try {
+            new WebDriverWait(driver, Duration.ofMillis(budgetMs), EXPLICIT_POLL).until(d -> {
+                List<?> state = (List<?>) ((JavascriptExecutor) d).executeScript(DOCUMENT_STATE_SCRIPT);
+                long count = ((Number) state.get(1)).longValue();
+                boolean stable = "complete".equals(state.get(0)) && count == lastCount[0];
+                lastCount[0] = count;
+                return stable;
+            });
+        } catch (Exception e) {
+            // Budget spent; carry on like the fixed sleep would
+        }
+    }
+}
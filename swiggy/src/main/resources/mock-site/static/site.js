@@ -0,0 +1,345 @@
+// Mock Swiggy client: header, login modal, location picker, listing, menu, cart, address and payment.
+// State lives in a session cookie and localStorage so the session vault and pool resets behave as on the live site.
+(function () {
+  'use strict';
+
+  var CART_KEY = 'mock_cart';
+  var ADDRESS_KEY = 'mock_address';
+  var LOCATION_KEY = 'mock_location';
+
+  function el(tag, attrs, children) {
+    var node = document.createElement(tag);
+    for (var k in (attrs || {})) {
+      if (k === 'text') node.textContent = attrs[k];
+      else if (k === 'onclick') node.addEventListener('click', attrs[k]);
+      else node.setAttribute(k, attrs[k]);
+    }
+    (children || []).forEach(function (c) { if (c) node.appendChild(c); });
+    return node;
+  }
+
+  function read(key, fallback) {
+    try { var v = localStorage.getItem(key); return v ? JSON.parse(v) : fallback; } catch (e) { return fallback; }
+  }
+
+  function write(key, value) { localStorage.setItem(key, JSON.stringify(value)); }
+
+  function isLoggedIn() { return /(?:^|; )_session_tid=/.test(document.cookie); }
+
+  function cart() { return read(CART_KEY, { restaurant: null, items: [] }); }
+
+  function cartCount() { return cart().items.reduce(function (n, i) { return n + i.qty; }, 0); }
+
+  function cartTotal() { return cart().items.reduce(function (n, i) { return n + i.qty * i.price; }, 0); }
+
+  function loadRestaurants() {
+    return fetch('/api/restaurants').then(function (r) { return r.json(); });
+  }
+
+  // ---- Header -------------------------------------------------------------
+
+  function renderHeader() {
+    var header = document.getElementById('site-header');
+    if (!header) return;
+    header.innerHTML = '';
+    var count = cartCount();
+    var account = isLoggedIn()
+      ? el('span', { 'class': 'account', 'data-testid': 'account', text: 'Account' })
+      : el('a', { href: '#login', 'class': 'signin-link', 'data-testid': 'login-link', text: 'Sign in',
+                  onclick: function (e) { e.preventDefault(); openLogin(); } });
+    header.appendChild(el('nav', { 'class': 'global-nav' }, [
+      el('a', { href: '/', 'class': 'logo', text: 'Swiggy' }),
+      el('a', { href: '/order-online-near-me', 'class': 'nav-link', text: 'Food Delivery' }),
+      el('a', { href: '/checkout', 'class': 'header-cart', 'data-testid': 'header-cart' }, [
+        document.createTextNode('Cart '),
+        count > 0 ? el('span', { 'class': 'cart-badge', text: String(count) }) : null
+      ]),
+      account
+    ]));
+  }
+
+  // ---- Login (modal on every page, inline on /auth) ---------------------
+
+  function openLogin(inline) {
+    if (document.querySelector('.login-panel')) return;
+    var phone = el('input', { type: 'tel', inputmode: 'tel', name: 'mobile', maxlength: '10', placeholder: 'Phone number' });
+    var form = el('form', { 'class': 'login-form' }, [
+      el('h2', { text: 'Login' }),
+      phone,
+      el('button', { type: 'submit', 'class': 'otp-button', 'data-testid': 'otp-btn', text: 'Continue' })
+    ]);
+    var panel = el('div', { 'class': 'login-panel' + (inline ? ' inline' : '') }, [form]);
+    var host = inline ? document.getElementById('app') : el('div', { 'class': 'login-overlay' }, [panel]);
+    if (inline) host.appendChild(panel); else document.body.appendChild(host);
+    form.addEventListener('submit', function (e) {
+      e.preventDefault();
+      if (!/^\d{10}$/.test(phone.value)) { phone.classList.add('invalid'); return; }
+      showOtp(form, inline ? panel : host, inline);
+    });
+  }
+
+  // The mock accepts any phone number and fills the OTP itself so unattended runs do not block
+  function showOtp(form, container, inline) {
+    var otp = el('input', { type: 'text', autocomplete: 'one-time-code', maxlength: '6', placeholder: 'One time password' });
+    form.replaceWith(el('div', { 'class': 'otp-form' }, [el('p', { text: 'Enter the OTP sent to your phone' }), otp]));
+    setTimeout(function () {
+      otp.value = '123456';
+      document.cookie = '_session_tid=mock-' + Date.now() + '; path=/; max-age=86400';
+      container.remove();
+      if (inline) { location.href = '/'; return; }
+      renderHeader();
+    }, 400);
+  }
+
+  // ---- Location picker ---------------------------------------------------
+
+  function renderLocationPicker(host) {
+    var input = el('input', { type: 'text', 'class': 'location-input', placeholder: 'Enter your delivery location' });
+    var list = el('ul', { 'class': 'location-suggestions' });
+    var current = el('div', { 'class': 'location-current', text: read(LOCATION_KEY, '') ? 'Delivering to ' + read(LOCATION_KEY, '') : '' });
+    var suggestions = [];
+    var choose = function (value) {
+      write(LOCATION_KEY, value);
+      current.textContent = 'Delivering to ' + value;
+      list.innerHTML = '';
+      input.value = value;
+    };
+    input.addEventListener('input', function () {
+      var q = input.value.toLowerCase();
+      fetch('/api/locations').then(function (r) { return r.json(); }).then(function (all) {
+        suggestions = all.filter(function (l) { return q && l.toLowerCase().indexOf(q.split(' ')[0]) >= 0; });
+        list.innerHTML = '';
+        suggestions.forEach(function (s) {
+          list.appendChild(el('li', { 'class': 'location-suggestion', text: s, onclick: function () { choose(s); } }));
+        });
+      });
+    });
+    input.addEventListener('keydown', function (e) {
+      if (e.key === 'Enter') { e.preventDefault(); choose(suggestions[0] || input.value); }
+    });
+    host.appendChild(el('div', { 'class': 'location-picker' }, [input, list, current]));
+  }
+
+  function renderModeTabs(host) {
+    host.appendChild(el('div', { 'class': 'mode-tabs' }, [
+      el('button', { type: 'button', 'class': 'tab active', text: 'Order Online' }),
+      el('button', { type: 'button', 'class': 'tab', text: 'Dineout' })
+    ]));
+  }
+
+  // ---- Listing -----------------------------------------------------------
+
+  function renderListing(app) {
+    renderLocationPicker(app);
+    renderModeTabs(app);
+    var search = el('input', { type: 'text', name: 'search', 'class': 'search-input', placeholder: 'Search for restaurants and food' });
+    app.appendChild(search);
+    var grid = el('section', { 'class': 'restaurant-grid' });
+    app.appendChild(grid);
+    loadRestaurants().then(function (restaurants) {
+      var draw = function () {
+        var q = search.value.toLowerCase();
+        grid.innerHTML = '';
+        restaurants.filter(function (r) { return !q || r.name.toLowerCase().indexOf(q) >= 0; }).forEach(function (r) {
+          grid.appendChild(el('div', { 'class': 'styles_listingCard', 'data-testid': 'restaurant-card' }, [
+            el('a', { href: '/restaurants/' + r.slug }, [
+              el('div', { 'class': 'styles_restaurantName', text: r.name }),
+              el('div', { 'class': 'styles_meta', text: r.rating + ' • ' + r.eta }),
+              el('div', { 'class': 'styles_cuisines', text: r.cuisines }),
+              el('div', { 'class': 'styles_area', text: r.area }),
+              el('div', { 'class': 'styles_costForTwo', text: '₹' + r.costForTwo + ' for two' })
+            ])
+          ]));
+        });
+      };
+      search.addEventListener('keyup', draw);
+      draw();
+    });
+  }
+
+  // ---- Menu --------------------------------------------------------------
+
+  function addToCart(restaurant, dish) {
+    var c = cart();
+    if (c.restaurant !== restaurant.slug) c = { restaurant: restaurant.slug, restaurantName: restaurant.name, items: [] };
+    var line = c.items.filter(function (i) { return i.name === dish.name; })[0];
+    if (line) line.qty++; else c.items.push({ name: dish.name, price: dish.price, qty: 1 });
+    write(CART_KEY, c);
+    renderHeader();
+    renderCartBar();
+    document.dispatchEvent(new Event('mock:cart'));
+  }
+
+  function renderCartBar() {
+    var existing = document.querySelector('.cart-bar');
+    if (existing) existing.remove();
+    var count = cartCount();
+    if (count === 0) return;
+    document.body.appendChild(el('div', { 'class': 'cart-bar', 'data-testid': 'cart-bar' }, [
+      el('span', { 'class': 'cart-summary', text: count + (count === 1 ? ' item' : ' items') + ' | ₹' + cartTotal() }),
+      el('button', { type: 'button', 'class': 'view-cart', text: 'View Cart',
+                     onclick: function () { location.href = '/checkout'; } })
+    ]));
+  }
+
+  function openCustomization(restaurant, dish) {
+    var overlay = el('div', { 'class': 'customize-overlay' });
+    var dialog = el('div', { 'class': 'customize-modal', role: 'dialog' }, [
+      el('h3', { text: 'Customise ' + dish.name }),
+      el('label', {}, [el('input', { type: 'radio', name: 'size', checked: 'checked' }), document.createTextNode(' Regular')]),
+      el('label', {}, [el('input', { type: 'radio', name: 'size' }), document.createTextNode(' Medium')]),
+      el('button', { type: 'button', 'class': 'confirm-add', text: 'Add Item to cart',
+                     onclick: function () { overlay.remove(); addToCart(restaurant, dish); } })
+    ]);
+    overlay.appendChild(dialog);
+    document.body.appendChild(overlay);
+  }
+
+  function renderDish(restaurant, dish) {
+    var action = el('div', { 'class': 'dish-action' });
+    var drawAction = function () {
+      action.innerHTML = '';
+      var line = cart().items.filter(function (i) { return i.name === dish.name; })[0];
+      if (line && cart().restaurant === restaurant.slug) {
+        action.appendChild(el('div', { 'class': 'qty' }, [el('span', { text: String(line.qty) })]));
+      } else {
+        action.appendChild(el('button', { type: 'button', 'class': 'add-button', text: 'ADD',
+          onclick: function () {
+            if (dish.customizable) openCustomization(restaurant, dish); else addToCart(restaurant, dish);
+          } }));
+      }
+    };
+    drawAction();
+    // Swap ADD for the quantity once the dish is in the cart
+    document.addEventListener('mock:cart', drawAction);
+    return el('div', { 'class': 'menu-item', 'data-testid': 'menu-item' }, [
+      el('div', { 'class': 'dish-info' }, [
+        el('span', { 'class': 'veg-marker ' + (dish.veg ? 'veg' : 'non-veg'), 'aria-label': dish.veg ? 'Veg' : 'Non-veg' }),
+        el('h3', { 'class': 'dish-name', text: dish.name }),
+        el('span', { 'class': 'dish-price', text: '₹' + dish.price }),
+        dish.description ? el('p', { 'class': 'dish-desc', text: dish.description }) : null
+      ]),
+      action
+    ]);
+  }
+
+  function renderMenu(app) {
+    var slug = location.pathname.split('/').filter(Boolean)[1];
+    loadRestaurants().then(function (restaurants) {
+      var restaurant = restaurants.filter(function (r) { return r.slug === slug; })[0];
+      if (!restaurant) {
+        app.appendChild(el('h1', { text: 'Restaurant not found' }));
+        return;
+      }
+      document.title = restaurant.name + ' - Menu - Swiggy';
+      app.appendChild(el('h1', { 'data-testid': 'restaurant-name', text: restaurant.name }));
+      app.appendChild(el('p', { 'class': 'restaurant-meta', text: restaurant.cuisines + ' • ' + restaurant.area }));
+      renderModeTabs(app);
+      var menu = el('section', { 'class': 'menu' });
+      var sections = [];
+      restaurant.menu.forEach(function (dish) {
+        var last = sections[sections.length - 1];
+        if (!last || last.name !== dish.category) sections.push(last = { name: dish.category, dishes: [] });
+        last.dishes.push(dish);
+      });
+      var drawSection = function (section) {
+        menu.insertBefore(el('h2', { 'class': 'menu-category', text: section.name }), sentinel);
+        section.dishes.forEach(function (dish) { menu.insertBefore(renderDish(restaurant, dish), sentinel); });
+      };
+      // Like the real menu, only the first section is rendered up front; the rest load as you scroll
+      var sentinel = el('div', { 'class': 'menu-sentinel' });
+      menu.appendChild(sentinel);
+      drawSection(sections.shift());
+      new IntersectionObserver(function (entries, observer) {
+        if (!entries[0].isIntersecting) return;
+        if (sections.length) drawSection(sections.shift());
+        if (!sections.length) { observer.disconnect(); sentinel.remove(); return; }
+        // Re-observing reports the new position, so a sentinel still on screen loads the next section too
+        observer.unobserve(sentinel);
+        observer.observe(sentinel);
+      }).observe(sentinel);
+      app.appendChild(menu);
+      renderCartBar();
+    });
+  }
+
+  // ---- Cart, address and payment ----------------------------------------
+
+  function renderCheckout(app) {
+    var c = cart();
+    app.appendChild(el('h1', { text: 'Secure Checkout' }));
+    if (c.items.length === 0) {
+      app.appendChild(el('p', { 'class': 'cart-empty', text: 'Your cart is empty' }));
+      return;
+    }
+    var lines = el('section', { 'class': 'cart-lines' }, [el('h2', { text: c.restaurantName })]);
+    c.items.forEach(function (i) {
+      lines.appendChild(el('div', { 'class': 'cart-line' }, [
+        el('span', { 'class': 'cart-line-name', text: i.name }),
+        el('span', { 'class': 'cart-line-qty', text: 'x ' + i.qty }),
+        el('span', { 'class': 'cart-line-price', text: '₹' + i.qty * i.price })
+      ]));
+    });
+    lines.appendChild(el('div', { 'class': 'cart-total', text: 'To pay ₹' + cartTotal() }));
+
+    var addressSection = el('section', { 'class': 'address-section' });
+    var paySection = el('section', { 'class': 'pay-section' });
+    var showPay = function (address) {
+      addressSection.innerHTML = '';
+      addressSection.appendChild(el('div', { 'class': 'address-selected', text: 'Delivering to ' + address.type + ': ' + address.text }));
+      paySection.innerHTML = '';
+      paySection.appendChild(el('button', { type: 'button', 'class': 'payment-button', text: 'Proceed to pay',
+                                            onclick: function () { location.href = '/payment'; } }));
+    };
+    var openForm = function () {
+      addressSection.innerHTML = '';
+      var text = el('input', { type: 'text', name: 'address', placeholder: 'Address' });
+      var flat = el('input', { type: 'text', name: 'flat', placeholder: 'Door / Flat No.' });
+      var landmark = el('input', { type: 'text', name: 'landmark', placeholder: 'Landmark' });
+      addressSection.appendChild(el('div', { 'class': 'address-form' }, [
+        el('h2', { text: 'Save delivery address' }), text, flat, landmark,
+        el('button', { type: 'button', 'class': 'save-address', text: 'Save Address & Proceed', onclick: function () {
+          var address = { type: 'Home', text: [flat.value, text.value, landmark.value].filter(Boolean).join(', ') || 'Home' };
+          write(ADDRESS_KEY, address);
+          showPay(address);
+        } })
+      ]));
+    };
+    var saved = read(ADDRESS_KEY, null);
+    addressSection.appendChild(el('h2', { text: 'Choose a delivery address' }));
+    if (saved) {
+      addressSection.appendChild(el('div', { 'class': 'address-card' }, [
+        el('p', { 'class': 'address-type', text: saved.type }),
+        el('p', { 'class': 'address-text', text: saved.text }),
+        el('button', { type: 'button', text: 'DELIVER HERE', onclick: function () { showPay(saved); } })
+      ]));
+    }
+    addressSection.appendChild(el('button', { type: 'button', 'class': 'add-address', text: 'Add New Address', onclick: openForm }));
+
+    app.appendChild(lines);
+    app.appendChild(addressSection);
+    app.appendChild(paySection);
+  }
+
+  function renderPayment(app) {
+    app.appendChild(el('h1', { text: 'Payment Options' }));
+    app.appendChild(el('p', { 'class': 'payment-total', text: cartCount() + ' item(s) | To pay ₹' + cartTotal() }));
+    ['UPI', 'Credit & Debit Cards', 'Wallets', 'Netbanking', 'Pay on Delivery'].forEach(function (m) {
+      app.appendChild(el('div', { 'class': 'payment-method', role: 'button', text: m }));
+    });
+    app.appendChild(el('p', { 'class': 'payment-note', text: 'Mock site: no payment is taken.' }));
+  }
+
+  // ---- Boot --------------------------------------------------------------
+
+  var PAGES = { listing: renderListing, menu: renderMenu, checkout: renderCheckout, payment: renderPayment,
+                auth: function () { openLogin(true); }, home: function () {} };
+
+  document.addEventListener('DOMContentLoaded', function () {
+    renderHeader();
+    var app = document.getElementById('app');
+    var render = PAGES[app.getAttribute('data-page')];
+    if (render) render(app);
+    if (location.hash === '#login' && !isLoggedIn()) openLogin();
+  });
+})();
@@ -0,0 +1,120 @@
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Resolves the chromedriver binary from a pinned local cache instead of WebDriverManager's
+ * version discovery. The cache directory holds the binaries plus a manifest.properties:
+ * <pre>
+ * chromedriver.version=126.0.6478.126
+ * chromedriver.linux64=linux64/126.0.6478.126/chromedriver
+ * </pre>
+ * A cache hit only reads the manifest and sets {@code webdriver.chrome.driver}, so it never touches
+ * the network. On a miss the first online run downloads through WebDriverManager and pins the result.
+ */
+public class DriverBinaryCache {
+
+    private static final String MANIFEST = "manifest.properties";
+
+    private static long resolveMs = -1;
+
+    public static void resolveChromeDriver(Properties config) {
+        long start = System.currentTimeMillis();
+        // System properties win over config, so build machines can force offline mode
+        Path dir = Paths.get(System.getProperty("driver.cache.dir", config.getProperty("driver.cache.dir", "drivers")));
+        boolean offline = Boolean.parseBoolean(
+            System.getProperty("driver.cache.offline", config.getProperty("driver.cache.offline", "false")));
+
+        String preset = System.getProperty("webdriver.chrome.driver");
+        if (preset != null && Files.isExecutable(Paths.get(preset))) {
+            resolveMs = System.currentTimeMillis() - start;
+            System.out.println("   ✓ Using chromedriver from -Dwebdriver.chrome.driver: " + preset);
+            return;
+        }
+
+        Properties manifest = readManifest(dir);
+        String version = manifest.getProperty("chromedriver.version");
+        String relative = manifest.getProperty("chromedriver." + platform());
+        if (relative != null && Files.isExecutable(dir.resolve(relative))) {
+            System.setProperty("webdriver.chrome.driver", dir.resolve(relative).toAbsolutePath().toString());
+            resolveMs = System.currentTimeMillis() - start;
+            System.out.println("   ✓ chromedriver " + version + " resolved from cache in " + resolveMs + " ms");
+            return;
+        }
+
+        if (offline) {
+            throw new IllegalStateException("No cached chromedriver for " + platform() + " in "
+                + dir.resolve(MANIFEST) + " and driver.cache.offline=true");
+        }
+
+        System.out.println("   ℹ️ chromedriver not cached for " + platform() + ", downloading through WebDriverManager");
+        WebDriverManager wdm = WebDriverManager.chromedriver();
+        wdm.setup();
+        pin(dir, manifest, wdm.getDownloadedDriverVersion(), Paths.get(wdm.getDownloadedDriverPath()));
+        resolveMs = System.currentTimeMillis() - start;
+    }
+
+    /** Logs the cold start: time from JVM start until a browser is ready, and the share spent resolving the binary. */
+    public static void logReady() {
+        long sinceJvmStart = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        System.out.println("   ⏱ Driver ready " + sinceJvmStart + " ms after start (binary resolution "
+            + resolveMs + " ms)");
+    }
+
+    // Copy the downloaded binary into the cache and record it in the manifest
+    private static void pin(Path dir, Properties manifest, String version, Path binary) {
+        try {
+            Path relative = Paths.get(platform(), version, binary.getFileName().toString());
+            Path target = dir.resolve(relative);
+            Files.createDirectories(target.getParent());
+            Files.copy(binary, target, StandardCopyOption.REPLACE_EXISTING);
+            target.toFile().setExecutable(true);
+            System.setProperty("webdriver.chrome.driver", target.toAbsolutePath().toString());
+
+            manifest.setProperty("chromedriver.version", version);
+            manifest.setProperty("chromedriver." + platform(), relative.toString().replace('\\', '/'));
+            try (OutputStream out = Files.newOutputStream(dir.resolve(MANIFEST))) {
+                manifest.store(out, "Pinned driver binaries, paths relative to this directory");
+            }
+            System.out.println("   💾 Pinned chromedriver " + version + " to " + target);
+        } catch (IOException e) {
+            // The downloaded driver still works for this run; only the cache is missing
+            System.out.println("   ⚠️ Could not pin chromedriver to cache: " + e.getMessage());
+        }
+    }
+
+    private static Properties readManifest(Path dir) {
+        Properties manifest = new Properties();
+        Path file = dir.resolve(MANIFEST);
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                manifest.load(in);
+            } catch (IOException e) {
+                System.out.println("   ⚠️ Could not read driver manifest: " + e.getMessage());
+            }
+        }
+        return manifest;
+    }
+
+    // Platform keys follow the Chrome for Testing download names
+    static String platform() {
+        String os = System.getProperty("os.name").toLowerCase(Locale.ROOT);
+        boolean arm = System.getProperty("os.arch").contains("aarch64") || System.getProperty("os.arch").contains("arm");
+        if (os.contains("win")) {
+            return "win64";
+        }
+        if (os.contains("mac")) {
+            return arm ? "mac-arm64" : "mac-x64";
+        }
+        return "linux64";
+    }
+}
@@ -0,0 +1,219 @@
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Keeps a fixed number of pre-launched browsers warm so flows lease one instead of paying
+ * browser startup every time. Returned browsers are reset (cookies, storage, about:blank)
+ * before the next lease; one that cannot be reset is replaced, unless the pool is shutting down.
+ * A browser that will not be needed again is handed back with {@link #discard} instead.
+ * <p>
+ * One of two identical copies, in swiggy (org.example) and in swiggyautomate (default package); swiggyautomate
+ * is a standalone test module that does not depend on swiggy. Change both together.
+ */
+public class DriverPool {
+
+    private final int size;
+    private final Supplier<WebDriver> factory;
+    private final BlockingQueue<WebDriver> idle;
+    private final List<WebDriver> all = Collections.synchronizedList(new ArrayList<>());
+    private final Map<WebDriver, Long> leasedAt = new ConcurrentHashMap<>();
+    private final long createdAt = System.currentTimeMillis();
+    private volatile boolean shuttingDown;
+
+    // Metrics
+    private long leases;
+    private long totalLeaseWaitMs;
+    private long maxLeaseWaitMs;
+    private long busyMs;
+    private int peakLeased;
+
+    public DriverPool(int size, Supplier<WebDriver> factory) {
+        this.size = size;
+        this.factory = factory;
+        this.idle = new ArrayBlockingQueue<>(size);
+        warmUp();
+    }
+
+    // Launch all browsers concurrently; startup time is then paid once, in parallel
+    private void warmUp() {
+        long start = System.currentTimeMillis();
+        ExecutorService launcher = Executors.newFixedThreadPool(size);
+        try {
+            List<Future<WebDriver>> launches = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                launches.add(launcher.submit(factory::get));
+            }
+            for (Future<WebDriver> launch : launches) {
+                try {
+                    WebDriver driver = launch.get();
+                    all.add(driver);
+                    idle.add(driver);
+                } catch (Exception e) {
+                    System.out.println("   ⚠️ Browser failed to start for pool: " + e.getMessage());
+                }
+            }
+        } finally {
+            launcher.shutdown();
+        }
+        if (idle.isEmpty()) {
+            throw new IllegalStateException("Driver pool could not start any browser");
+        }
+        System.out.println("   ✓ Driver pool warmed: " + idle.size() + "/" + size + " browsers in "
+            + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    public WebDriver lease(Duration timeout) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        WebDriver driver = idle.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        if (driver == null) {
+            throw new IllegalStateException("No browser available from pool within " + timeout.getSeconds() + " s");
+        }
+        long waited = System.currentTimeMillis() - start;
+        synchronized (this) {
+            leases++;
+            totalLeaseWaitMs += waited;
+            maxLeaseWaitMs = Math.max(maxLeaseWaitMs, waited);
+            leasedAt.put(driver, System.currentTimeMillis());
+            peakLeased = Math.max(peakLeased, leasedAt.size());
+        }
+        return driver;
+    }
+
+    /** Resets the browser and returns it to the pool; a browser that cannot be reset is replaced. */
+    public void release(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        endLease(driver);
+        if (!shuttingDown && reset(driver)) {
+            idle.offer(driver);
+            return;
+        }
+        quit(driver);
+        if (shuttingDown) {
+            return;
+        }
+        // Browser is unusable; replace it so the pool keeps its size
+        WebDriver replacement;
+        try {
+            replacement = factory.get();
+        } catch (Exception e) {
+            System.out.println("   ⚠️ Could not replace broken pooled browser: " + e.getMessage());
+            return;
+        }
+        synchronized (all) {
+            if (!shuttingDown) {
+                all.add(replacement);
+                idle.offer(replacement);
+                return;
+            }
+        }
+        // Shutdown began while the replacement was starting
+        try { replacement.quit(); } catch (Exception ignore) {}
+    }
+
+    /** Quits a leased browser without resetting or replacing it, e.g. the last lease before {@link #shutdown}. */
+    public void discard(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        endLease(driver);
+        quit(driver);
+    }
+
+    private void endLease(WebDriver driver) {
+        Long since = leasedAt.remove(driver);
+        if (since != null) {
+            synchronized (this) {
+                busyMs += System.currentTimeMillis() - since;
+            }
+        }
+    }
+
+    private void quit(WebDriver driver) {
+        all.remove(driver);
+        try { driver.quit(); } catch (Exception ignore) {}
+    }
+
+    // Clear cookies and storage for the next flow without restarting the browser
+    private boolean reset(WebDriver driver) {
+        try {
+            JavascriptExecutor js = (JavascriptExecutor) driver;
+            Object origin = js.executeScript(
+                "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {} return location.origin;");
+            if (driver instanceof ChromiumDriver) {
+                // Cookies for every domain; the HTTP cache is kept on purpose, it is part of what makes the browser warm
+                ChromiumDriver chromium = (ChromiumDriver) driver;
+                chromium.executeCdpCommand("Network.clearBrowserCookies", Collections.emptyMap());
+                if (origin instanceof String && ((String) origin).startsWith("http")) {
+                    Map<String, Object> params = new HashMap<>();
+                    params.put("origin", origin);
+                    params.put("storageTypes", "local_storage,indexeddb,service_workers,cache_storage");
+                    chromium.executeCdpCommand("Storage.clearDataForOrigin", params);
+                }
+            } else {
+                driver.manage().deleteAllCookies();
+            }
+            driver.get("about:blank");
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /** Quits every browser; browsers released afterwards are quit instead of being reset or replaced. */
+    public void shutdown() {
+        synchronized (all) {
+            shuttingDown = true;
+            for (WebDriver driver : all) {
+                try { driver.quit(); } catch (Exception ignore) {}
+            }
+            all.clear();
+        }
+        idle.clear();
+    }
+
+    public int getSize() { return size; }
+    public int getLeasedCount() { return leasedAt.size(); }
+
+    public synchronized double getAverageLeaseWaitMs() {
+        return leases == 0 ? 0 : (double) totalLeaseWaitMs / leases;
+    }
+
+    /** Share of total browser-time that was leased out since the pool started. */
+    public synchronized double getUtilisation() {
+        long now = System.currentTimeMillis();
+        long busy = busyMs;
+        for (Long since : leasedAt.values()) {
+            busy += now - since;
+        }
+        long capacity = (now - createdAt) * size;
+        return capacity == 0 ? 0 : (double) busy / capacity;
+    }
+
+    public synchronized void printMetrics() {
+        System.out.println("\n=== DRIVER POOL ===");
+        System.out.println("Pool size:        " + size);
+        System.out.println("Leases:           " + leases);
+        System.out.println(String.format("Lease wait (ms):  avg %.1f, max %d", getAverageLeaseWaitMs(), maxLeaseWaitMs));
+        System.out.println("Leased now/peak:  " + leasedAt.size() + "/" + peakLeased);
+        System.out.println(String.format("Utilisation:      %.1f%%", getUtilisation() * 100));
+        System.out.println("===================");
+    }
+}
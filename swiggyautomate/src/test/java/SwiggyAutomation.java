@@ -1,18 +1,23 @@
-import io.github.bonigarcia.wdm.WebDriverManager;
 import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.*;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import org.testng.ITestContext;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.BeforeSuite;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
+import org.testng.xml.XmlSuite;
 
 import java.io.File;
 import java.io.IOException;
 import java.time.Duration;
 import java.util.List;
+import java.util.Properties;
 
 /**
  * End-to-End UI Automation of Swiggy Food Ordering Flow
@@ -21,27 +26,71 @@ import java.util.List;
  */
 public class SwiggyAutomation {
 
-    private WebDriver driver;
-    private WebDriverWait wait;
+    // One browser, wait and login state per test thread, so methods, tests and data-provider
+    // rows can run in parallel against a shared instance of this class
+    private static final ThreadLocal<WebDriver> driverHolder = new ThreadLocal<>();
+    private static final ThreadLocal<WebDriverWait> waitHolder = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> sessionRestored = ThreadLocal.withInitial(() -> false);
+    private static final ThreadLocal<String> scenarioLabel = ThreadLocal.withInitial(() -> "default");
+
+    private static final SessionVault sessionVault =
+        new SessionVault("session/swiggy-session.json", Duration.ofHours(72));
+
+    // Warm browsers shared across test threads; sized to the suite's parallelism unless -Ddriver.pool.size is set
+    private static DriverPool driverPool;
+
+    @BeforeSuite
+    public void warmUpDriverPool(ITestContext context) {
+        // Resolve chromedriver from the pinned local cache; -Ddriver.cache.offline=true forbids downloads
+        DriverBinaryCache.resolveChromeDriver(new Properties());
+        driverPool = new DriverPool(Integer.getInteger("driver.pool.size", suiteParallelism(context.getSuite().getXmlSuite())),
+            SwiggyAutomation::createChromeDriver);
+        DriverBinaryCache.logReady();
+    }
+
+    // Browsers needed so that no test thread waits on the pool
+    private static int suiteParallelism(XmlSuite suite) {
+        if (suite.getParallel() == null || suite.getParallel() == XmlSuite.ParallelMode.NONE) {
+            return 1;
+        }
+        return Math.max(suite.getThreadCount(), suite.getDataProviderThreadCount());
+    }
 
     @BeforeMethod
-    public void setUp() {
-        // Setup Chrome WebDriver using WebDriverManager
-        WebDriverManager.chromedriver().setup();
+    public void setUp() throws InterruptedException {
+        WebDriver driver = driverPool.lease(Duration.ofMinutes(2));
+        driverHolder.set(driver);
+        waitHolder.set(new WebDriverWait(driver, Duration.ofSeconds(20)));
+        sessionRestored.set(false);
 
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--disable-notifications");
-        options.addArguments("--disable-popup-blocking");
-        options.addArguments("--start-maximized");
+        System.out.println("=== SWIGGY AUTOMATION TEST STARTED [" + Thread.currentThread().getName() + "] ===");
+    }
 
-        driver = new ChromeDriver(options);
-        wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+    private WebDriver driver() {
+        return driverHolder.get();
+    }
+
+    private WebDriverWait waitFor() {
+        return waitHolder.get();
+    }
 
-        System.out.println("=== SWIGGY AUTOMATION TEST STARTED ===");
+    /**
+     * Order scenarios as {delivery location, restaurant}; rows run concurrently
+     * on the suite's data-provider-thread-count threads
+     */
+    @DataProvider(name = "orderScenarios", parallel = true)
+    public Object[][] orderScenarios() {
+        return new Object[][] {
+            {"Bengaluru", "Domino's Pizza"},
+            {"Bengaluru", "Pizza Hut"},
+            {"Mumbai", "Burger King"},
+            {"Delhi", "KFC"}
+        };
     }
 
-    @Test(priority = 1)
-    public void testSwiggyFoodOrderingFlow() {
+    @Test(priority = 1, dataProvider = "orderScenarios")
+    public void testSwiggyFoodOrderingFlow(String location, String restaurant) {
+        scenarioLabel.set((restaurant + "_" + location).replaceAll("[^A-Za-z0-9]+", "_"));
         try {
             // Step 1: Navigate to Swiggy homepage and initiate login
             navigateToSwiggyAndLogin();
@@ -53,10 +102,10 @@ public class SwiggyAutomation {
             validatePostLogin();
 
             // Step 4: Set delivery location
-            setDeliveryLocation();
+            setDeliveryLocation(location);
 
             // Step 5: Search and select restaurant
-            searchAndSelectRestaurant();
+            searchAndSelectRestaurant(restaurant);
 
             // Step 6: Add item to cart
             addItemToCart();
@@ -83,25 +132,30 @@ public class SwiggyAutomation {
         System.out.println("\n--- Step 1: Initiating Login Process ---");
 
         // Navigate to Swiggy homepage
-        driver.get("https://www.swiggy.com/");
+        driver().get("https://www.swiggy.com/");
         System.out.println("Navigated to Swiggy homepage");
 
+        sessionRestored.set(sessionVault.restore(driver(), "https://www.swiggy.com/"));
+        if (sessionRestored.get()) {
+            return;
+        }
+
         try {
             // Wait for and click the Login button
-            WebElement loginButton = wait.until(ExpectedConditions.elementToBeClickable(
+            WebElement loginButton = waitFor().until(ExpectedConditions.elementToBeClickable(
                 By.xpath("//a[contains(text(),'Sign in')] | //div[contains(text(),'Sign In')] | //button[contains(text(),'Login')]")));
             loginButton.click();
             System.out.println("Clicked Login button");
 
             // Enter phone number
-            WebElement phoneInput = wait.until(ExpectedConditions.presenceOfElementLocated(
+            WebElement phoneInput = waitFor().until(ExpectedConditions.presenceOfElementLocated(
                 By.xpath("//input[@placeholder='Enter mobile number'] | //input[@type='tel'] | //input[contains(@class,'_2IX_2')]")));
             phoneInput.clear();
             phoneInput.sendKeys("9876543210"); // Sample phone number
             System.out.println("Entered phone number: 9876543210");
 
             // Click Login/Continue button
-            WebElement continueButton = wait.until(ExpectedConditions.elementToBeClickable(
+            WebElement continueButton = waitFor().until(ExpectedConditions.elementToBeClickable(
                 By.xpath("//button[contains(text(),'CONTINUE')] | //button[contains(text(),'Login')] | //a[contains(text(),'CONTINUE')]")));
             continueButton.click();
             System.out.println("Clicked Continue button");
@@ -115,21 +169,21 @@ public class SwiggyAutomation {
     private void handleAlternativeLogin() {
         try {
             // Alternative approach for login
-            List<WebElement> signInElements = driver.findElements(By.xpath("//*[contains(text(),'Sign') or contains(text(),'Login')]"));
+            List<WebElement> signInElements = driver().findElements(By.xpath("//*[contains(text(),'Sign') or contains(text(),'Login')]"));
             if (!signInElements.isEmpty()) {
                 signInElements.get(0).click();
                 Thread.sleep(2000);
             }
 
             // Try to find phone input with different selectors
-            List<WebElement> phoneInputs = driver.findElements(By.xpath("//input[@type='tel'] | //input[contains(@placeholder,'mobile')] | //input[contains(@placeholder,'phone')]"));
+            List<WebElement> phoneInputs = driver().findElements(By.xpath("//input[@type='tel'] | //input[contains(@placeholder,'mobile')] | //input[contains(@placeholder,'phone')]"));
             if (!phoneInputs.isEmpty()) {
                 phoneInputs.get(0).clear();
                 phoneInputs.get(0).sendKeys("9876543210");
             }
 
             // Find continue button
-            List<WebElement> continueButtons = driver.findElements(By.xpath("//button | //a[contains(@class,'btn')] | //*[contains(text(),'CONTINUE')]"));
+            List<WebElement> continueButtons = driver().findElements(By.xpath("//button | //a[contains(@class,'btn')] | //*[contains(text(),'CONTINUE')]"));
             for (WebElement button : continueButtons) {
                 if (button.isEnabled() && button.isDisplayed()) {
                     button.click();
@@ -143,14 +197,18 @@ public class SwiggyAutomation {
 
     private void handleOTPEntry() {
         System.out.println("\n--- Step 2: Handling OTP Entry ---");
-        System.out.println("⚠️  MANUAL INTERVENTION REQUIRED: Please enter OTP now. Pausing for 30 seconds...");
+        if (sessionRestored.get()) {
+            System.out.println("Saved session restored, no OTP needed");
+            return;
+        }
+        System.out.println("⚠️  MANUAL INTERVENTION REQUIRED: Please enter OTP now. Waiting up to 30 seconds...");
 
-        try {
-            Thread.sleep(30000); // Wait 30 seconds for manual OTP entry
+        // Resume as soon as the login completes rather than always waiting the full 30 seconds
+        if (SessionVault.awaitLogin(driver(), Duration.ofSeconds(30))) {
+            sessionVault.save(driver());
+            System.out.println("Login detected, resuming automation");
+        } else {
             System.out.println("Resuming automation after OTP wait period");
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            System.out.println("OTP wait period interrupted");
         }
     }
 
@@ -159,14 +217,14 @@ public class SwiggyAutomation {
 
         try {
             // Wait for main page to load after login
-            wait.until(ExpectedConditions.or(
+            waitFor().until(ExpectedConditions.or(
                 ExpectedConditions.presenceOfElementLocated(By.xpath("//*[contains(text(),'Search for restaurants')]")),
                 ExpectedConditions.presenceOfElementLocated(By.xpath("//input[contains(@placeholder,'Search')]")),
                 ExpectedConditions.urlContains("swiggy.com")
             ));
 
-            String pageTitle = driver.getTitle();
-            String currentURL = driver.getCurrentUrl();
+            String pageTitle = driver().getTitle();
+            String currentURL = driver().getCurrentUrl();
 
             System.out.println("✓ Post-Login Validation Successful:");
             System.out.println("  Page Title: " + pageTitle);
@@ -177,37 +235,40 @@ public class SwiggyAutomation {
         }
     }
 
-    private void setDeliveryLocation() {
+    private void setDeliveryLocation(String location) {
         System.out.println("\n--- Step 4: Setting Delivery Location ---");
 
         try {
             // Look for location input field
-            WebElement locationInput = wait.until(ExpectedConditions.elementToBeClickable(
+            WebElement locationInput = waitFor().until(ExpectedConditions.elementToBeClickable(
                 By.xpath("//input[contains(@placeholder,'Enter your delivery location')] | " +
                         "//input[contains(@placeholder,'location')] | " +
                         "//*[contains(@class,'address-input')] | " +
                         "//input[@type='text'][1]")));
 
             locationInput.clear();
-            locationInput.sendKeys("Bengaluru");
-            System.out.println("Entered location: Bengaluru");
+            locationInput.sendKeys(location);
+            System.out.println("Entered location: " + location);
 
-            // Wait for suggestions and click first valid Bengaluru option
+            // Wait for suggestions and click first valid option for the location
             Thread.sleep(2000);
-            WebElement firstSuggestion = wait.until(ExpectedConditions.elementToBeClickable(
-                By.xpath("//*[contains(text(),'Bengaluru')] | //*[contains(text(),'Bangalore')]")));
+            String suggestionXpath = "//*[contains(text(),'" + location + "')]";
+            if ("Bengaluru".equals(location)) {
+                suggestionXpath += " | //*[contains(text(),'Bangalore')]";
+            }
+            WebElement firstSuggestion = waitFor().until(ExpectedConditions.elementToBeClickable(By.xpath(suggestionXpath)));
             firstSuggestion.click();
-            System.out.println("Selected Bengaluru from suggestions");
+            System.out.println("Selected " + location + " from suggestions");
 
         } catch (Exception e) {
             System.out.println("Location setting encountered an issue: " + e.getMessage());
             // Try alternative approach
             try {
-                List<WebElement> inputs = driver.findElements(By.tagName("input"));
+                List<WebElement> inputs = driver().findElements(By.tagName("input"));
                 for (WebElement input : inputs) {
                     if (input.isDisplayed() && input.isEnabled()) {
                         input.clear();
-                        input.sendKeys("Bengaluru");
+                        input.sendKeys(location);
                         input.sendKeys(Keys.ENTER);
                         break;
                     }
@@ -218,25 +279,25 @@ public class SwiggyAutomation {
         }
     }
 
-    private void searchAndSelectRestaurant() {
+    private void searchAndSelectRestaurant(String restaurant) {
         System.out.println("\n--- Step 5: Searching and Selecting Restaurant ---");
 
         try {
             // Navigate to search or find search functionality
-            WebElement searchInput = wait.until(ExpectedConditions.presenceOfElementLocated(
+            WebElement searchInput = waitFor().until(ExpectedConditions.presenceOfElementLocated(
                 By.xpath("//input[contains(@placeholder,'Search for restaurants')] | " +
                         "//input[contains(@placeholder,'Search')] | " +
                         "//input[@type='text']")));
 
             searchInput.clear();
-            searchInput.sendKeys("Domino's Pizza");
+            searchInput.sendKeys(restaurant);
             searchInput.sendKeys(Keys.ENTER);
-            System.out.println("Searched for: Domino's Pizza");
+            System.out.println("Searched for: " + restaurant);
 
             // Wait for search results and click first restaurant
             Thread.sleep(3000);
-            WebElement firstRestaurant = wait.until(ExpectedConditions.elementToBeClickable(
-                By.xpath("//*[contains(text(),'Domino') or contains(text(),'Pizza')][1] | " +
+            WebElement firstRestaurant = waitFor().until(ExpectedConditions.elementToBeClickable(
+                By.xpath("//*[contains(text(),'" + restaurantKeyword(restaurant) + "')][1] | " +
                         "//div[contains(@class,'restaurant-item')][1] | " +
                         "//div[contains(@class,'res-card')][1]")));
 
@@ -248,14 +309,19 @@ public class SwiggyAutomation {
 
         } catch (Exception e) {
             System.out.println("Restaurant search encountered an issue: " + e.getMessage());
-            handleAlternativeRestaurantSearch();
+            handleAlternativeRestaurantSearch(restaurant);
         }
     }
 
-    private void handleAlternativeRestaurantSearch() {
+    // First word of the restaurant name, safe to embed in an XPath literal ("Domino's Pizza" -> "Domino")
+    private static String restaurantKeyword(String restaurant) {
+        return restaurant.split("[\\s']")[0];
+    }
+
+    private void handleAlternativeRestaurantSearch(String restaurant) {
         try {
             // Alternative search approach
-            List<WebElement> clickableElements = driver.findElements(By.xpath("//*[contains(text(),'Pizza') or contains(text(),'Domino')]"));
+            List<WebElement> clickableElements = driver().findElements(By.xpath("//*[contains(text(),'" + restaurantKeyword(restaurant) + "')]"));
             if (!clickableElements.isEmpty()) {
                 clickableElements.get(0).click();
                 System.out.println("Used alternative method to select restaurant");
@@ -273,7 +339,7 @@ public class SwiggyAutomation {
             Thread.sleep(5000);
 
             // Find all "Add" buttons
-            List<WebElement> addButtons = wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(
+            List<WebElement> addButtons = waitFor().until(ExpectedConditions.presenceOfAllElementsLocatedBy(
                 By.xpath("//button[contains(text(),'ADD')] | " +
                         "//div[contains(text(),'ADD')] | " +
                         "//*[contains(@class,'add-btn')] | " +
@@ -300,7 +366,7 @@ public class SwiggyAutomation {
 
                 // Click View Cart
                 Thread.sleep(2000);
-                WebElement viewCartButton = wait.until(ExpectedConditions.elementToBeClickable(
+                WebElement viewCartButton = waitFor().until(ExpectedConditions.elementToBeClickable(
                     By.xpath("//*[contains(text(),'View Cart')] | " +
                             "//*[contains(text(),'CART')] | " +
                             "//button[contains(@class,'cart')]")));
@@ -329,7 +395,7 @@ public class SwiggyAutomation {
             Thread.sleep(3000);
 
             // Find quantity increase button (+)
-            WebElement plusButton = wait.until(ExpectedConditions.elementToBeClickable(
+            WebElement plusButton = waitFor().until(ExpectedConditions.elementToBeClickable(
                 By.xpath("//button[contains(text(),'+')] | " +
                         "//*[contains(@class,'increment')] | " +
                         "//div[text()='+'] | " +
@@ -343,7 +409,7 @@ public class SwiggyAutomation {
 
             // Try to get total cart value
             try {
-                WebElement totalElement = driver.findElement(
+                WebElement totalElement = driver().findElement(
                     By.xpath("//*[contains(text(),'Total')] | //*[contains(text(),'₹')]"));
                 String totalValue = totalElement.getText();
                 System.out.println("✓ Total Cart Value: " + totalValue);
@@ -365,7 +431,7 @@ public class SwiggyAutomation {
 
         try {
             // Look for checkout or proceed button
-            WebElement proceedButton = wait.until(ExpectedConditions.elementToBeClickable(
+            WebElement proceedButton = waitFor().until(ExpectedConditions.elementToBeClickable(
                 By.xpath("//*[contains(text(),'Proceed')] | " +
                         "//*[contains(text(),'Checkout')] | " +
                         "//button[contains(@class,'checkout')] | " +
@@ -376,7 +442,7 @@ public class SwiggyAutomation {
             Thread.sleep(3000);
 
             // Look for "Add new address" option
-            WebElement addNewAddressButton = wait.until(ExpectedConditions.elementToBeClickable(
+            WebElement addNewAddressButton = waitFor().until(ExpectedConditions.elementToBeClickable(
                 By.xpath("//*[contains(text(),'Add new address')] | " +
                         "//*[contains(text(),'Add address')] | " +
                         "//button[contains(@class,'add-address')]")));
@@ -400,7 +466,7 @@ public class SwiggyAutomation {
     private void fillAddressForm() {
         try {
             // Fill Door/Flat No
-            WebElement doorInput = wait.until(ExpectedConditions.presenceOfElementLocated(
+            WebElement doorInput = waitFor().until(ExpectedConditions.presenceOfElementLocated(
                 By.xpath("//input[contains(@placeholder,'Door')] | " +
                         "//input[contains(@placeholder,'Flat')] | " +
                         "//input[@type='text'][1]")));
@@ -409,7 +475,7 @@ public class SwiggyAutomation {
             System.out.println("Entered Door/Flat No: 123");
 
             // Fill Landmark
-            WebElement landmarkInput = driver.findElement(
+            WebElement landmarkInput = driver().findElement(
                 By.xpath("//input[contains(@placeholder,'Landmark')] | " +
                         "//input[contains(@placeholder,'landmark')] | " +
                         "//input[@type='text'][2]"));
@@ -418,7 +484,7 @@ public class SwiggyAutomation {
             System.out.println("Entered Landmark: Near Main Road");
 
             // Select Home address type
-            WebElement homeOption = wait.until(ExpectedConditions.elementToBeClickable(
+            WebElement homeOption = waitFor().until(ExpectedConditions.elementToBeClickable(
                 By.xpath("//*[contains(text(),'Home')] | " +
                         "//input[@value='Home'] | " +
                         "//*[contains(@class,'home')]")));
@@ -426,7 +492,7 @@ public class SwiggyAutomation {
             System.out.println("Selected Address Type: Home");
 
             // Click Save Address & Proceed
-            WebElement saveButton = wait.until(ExpectedConditions.elementToBeClickable(
+            WebElement saveButton = waitFor().until(ExpectedConditions.elementToBeClickable(
                 By.xpath("//*[contains(text(),'Save Address & Proceed')] | " +
                         "//*[contains(text(),'Save Address')] | " +
                         "//button[contains(@class,'save')] | " +
@@ -443,7 +509,7 @@ public class SwiggyAutomation {
     private void fillAddressAlternative() {
         try {
             // Alternative approach for address form
-            List<WebElement> inputs = driver.findElements(By.xpath("//input[@type='text']"));
+            List<WebElement> inputs = driver().findElements(By.xpath("//input[@type='text']"));
             if (inputs.size() >= 2) {
                 inputs.get(0).sendKeys("123");
                 inputs.get(1).sendKeys("Near Main Road");
@@ -451,7 +517,7 @@ public class SwiggyAutomation {
             }
 
             // Find and click any save/proceed button
-            List<WebElement> buttons = driver.findElements(By.xpath("//button"));
+            List<WebElement> buttons = driver().findElements(By.xpath("//button"));
             for (WebElement button : buttons) {
                 String buttonText = button.getText().toLowerCase();
                 if (buttonText.contains("save") || buttonText.contains("proceed")) {
@@ -470,7 +536,7 @@ public class SwiggyAutomation {
 
         try {
             // Wait for payment page to load
-            wait.until(ExpectedConditions.or(
+            waitFor().until(ExpectedConditions.or(
                 ExpectedConditions.presenceOfElementLocated(By.xpath("//*[contains(text(),'Payment')] | //*[contains(text(),'PAYMENT')]")),
                 ExpectedConditions.presenceOfElementLocated(By.xpath("//input[@type='radio'] | //div[contains(@class,'payment')]")),
                 ExpectedConditions.urlContains("payment")
@@ -494,39 +560,69 @@ public class SwiggyAutomation {
      */
     private void takeScreenshot(String filename) {
         try {
-            TakesScreenshot takesScreenshot = (TakesScreenshot) driver;
+            TakesScreenshot takesScreenshot = (TakesScreenshot) driver();
             File sourceFile = takesScreenshot.getScreenshotAs(OutputType.FILE);
-            File destFile = new File(filename + ".png");
-            FileUtils.copyFile(sourceFile, destFile);
-            System.out.println("📸 Screenshot saved: " + filename + ".png");
+            // Scenario suffix keeps parallel runs from overwriting each other's screenshots
+            String name = filename + "_" + scenarioLabel.get() + ".png";
+            FileUtils.copyFile(sourceFile, new File(name));
+            System.out.println("📸 Screenshot saved: " + name);
         } catch (IOException e) {
             System.err.println("Failed to take screenshot: " + e.getMessage());
         }
     }
 
-    @AfterMethod
+    @AfterMethod(alwaysRun = true)
     public void tearDown() {
         System.out.println("\n=== CLEANING UP AUTOMATION SESSION ===");
+        WebDriver driver = driverHolder.get();
         if (driver != null) {
-            // Wait a moment before closing to ensure final screenshot is taken
-            try {
-                Thread.sleep(2000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-            driver.quit();
-            System.out.println("Browser session closed successfully");
+            // Reset and hand the browser back to the pool for the next test
+            driverPool.release(driver);
+            System.out.println("Browser session returned to pool");
         }
+        driverHolder.remove();
+        waitHolder.remove();
+        sessionRestored.remove();
+        scenarioLabel.remove();
         System.out.println("=== SWIGGY AUTOMATION SESSION COMPLETED ===");
     }
 
+    @AfterSuite(alwaysRun = true)
+    public void shutDownDriverPool() {
+        if (driverPool == null) {
+            return;
+        }
+        driverPool.printMetrics();
+        driverPool.shutdown();
+    }
+
+    private static WebDriver createChromeDriver() {
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--disable-notifications");
+        options.addArguments("--disable-popup-blocking");
+        if ("throughput".equalsIgnoreCase(System.getProperty("browser.profile", "standard"))) {
+            // Headless, fixed viewport, no GPU, extensions or background networking
+            options.addArguments("--headless=new");
+            options.addArguments("--window-size=" + System.getProperty("browser.viewport", "1366,768"));
+            options.addArguments("--disable-gpu");
+            options.addArguments("--disable-extensions");
+            options.addArguments("--disable-background-networking");
+            options.addArguments("--disable-component-update");
+            options.addArguments("--no-first-run");
+            options.addArguments("--mute-audio");
+        } else {
+            options.addArguments("--start-maximized");
+        }
+        return new ChromeDriver(options);
+    }
+
     /**
      * Utility method to scroll to element if needed
      * @param element WebElement to scroll to
      */
     private void scrollToElement(WebElement element) {
         try {
-            ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", element);
+            ((JavascriptExecutor) driver()).executeScript("arguments[0].scrollIntoView(true);", element);
             Thread.sleep(500);
         } catch (Exception e) {
             System.out.println("Scroll to element failed: " + e.getMessage());
@@ -538,7 +634,7 @@ public class SwiggyAutomation {
      */
     private void waitForPageLoad() {
         try {
-            wait.until(webDriver -> ((JavascriptExecutor) webDriver)
+            waitFor().until(webDriver -> ((JavascriptExecutor) webDriver)
                 .executeScript("return document.readyState").equals("complete"));
         } catch (Exception e) {
             System.out.println("Page load wait timeout, continuing...");